@@ -0,0 +1,99 @@
+package com.jbx.econtract.config;
+
+import com.jbx.econtract.service.DataVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Version ETag Filter
+ *
+ * Answers conditional GET requests on the statistics endpoints from the global data version.
+ * When the client's If-None-Match still matches, a 304 is returned before the controller runs,
+ * so no database query is made.
+ *
+ * The ETag contains:
+ * - the process start time, because the version counters are not persisted
+ * - the global data version
+ * - the current date, because "expiring soon" and trend values move with the calendar
+ *
+ * The global version also moves when derived data is written later than the change itself
+ * (summary flush and rebuild, counter reconciliation, cube rebuild), see
+ * {@link DataVersionService#markDerivedChanged()}. The version is per process: this assumes a single
+ * application node (or sticky sessions), otherwise a node answers 304 for data changed on another node.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionETagFilter extends OncePerRequestFilter {
+
+    private static final String DASHBOARD_PREFIX = "/api/v1/dashboard/";
+    private static final String DASHBOARD_EVENTS = "/api/v1/dashboard/events";
+
+    private static final List<String> STATS_PATHS = List.of(
+        "/api/v1/contracts/stats",
+        "/api/v1/import/stats",
+        "/api/v1/framework-contracts/stats"
+    );
+
+    private final DataVersionService dataVersionService;
+
+    private final long epoch = System.currentTimeMillis();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        if (path.startsWith(DASHBOARD_PREFIX)) {
+            return path.equals(DASHBOARD_EVENTS);
+        }
+        return !STATS_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        // Read the version before the controller does: a concurrent change then only makes the tag stale, never wrong
+        String etag = "\"" + Long.toString(epoch, 36) + "-" + dataVersionService.getGlobalVersion()
+                + "-" + LocalDate.now() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison as required for If-None-Match
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
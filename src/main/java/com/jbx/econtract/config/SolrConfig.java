@@ -0,0 +1,31 @@
+package com.jbx.econtract.config;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.HttpJdkSolrClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solr Client Configuration
+ *
+ * Uses the client based on the JDK HttpClient: it needs no Apache HttpClient or Jetty on the
+ * classpath, so it does not conflict with the Jetty version pinned by Spring Boot
+ * (the Jetty based Http2SolrClient needs Jetty 10).
+ * The core is passed per request, see {@link com.jbx.econtract.service.ContractSearchService}.
+ */
+@Configuration
+public class SolrConfig {
+
+    @Bean
+    public SolrClient solrClient(@Value("${solr.url}") String url,
+                                 @Value("${solr.connection-timeout:5000}") int connectionTimeout,
+                                 @Value("${solr.socket-timeout:10000}") int socketTimeout) {
+        return new HttpJdkSolrClient.Builder(url)
+                .withConnectionTimeout(connectionTimeout, TimeUnit.MILLISECONDS)
+                .withIdleTimeout(socketTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.jbx.econtract.controller;
+
+import com.jbx.econtract.service.EntityCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * REST Controller für den Second-Level-Cache
+ *
+ * Ohne CORS-Freigabe (nur gleiche Herkunft). Das Leeren von Regionen erfordert den Header
+ * X-Admin-Token mit dem Wert von app.security.admin-token; ohne konfiguriertes Token ist es gesperrt.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cache", description = "Second-Level-Cache: Statistiken und Leeren von Regionen")
+public class CacheController {
+
+    private static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final EntityCacheService entityCacheService;
+
+    @Value("${app.security.admin-token:}")
+    private String adminToken;
+
+    /**
+     * Treffer, Fehlzugriffe und Einträge je Region
+     */
+    @GetMapping
+    @Operation(summary = "Cache-Statistiken abrufen")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    /**
+     * Leert eine Region
+     */
+    @DeleteMapping("/{region}")
+    @Operation(summary = "Cache-Region leeren")
+    public ResponseEntity<Map<String, Object>> evictRegion(
+            @PathVariable String region,
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        log.info("DELETE /api/v1/admin/cache/{}", region);
+        if (!isAdmin(token)) {
+            return forbidden();
+        }
+        try {
+            entityCacheService.evictRegion(region);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Leert alle Regionen
+     */
+    @DeleteMapping
+    @Operation(summary = "Alle Cache-Regionen leeren")
+    public ResponseEntity<Map<String, Object>> evictAll(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        log.info("DELETE /api/v1/admin/cache");
+        if (!isAdmin(token)) {
+            return forbidden();
+        }
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isAdmin(String token) {
+        if (adminToken == null || adminToken.isBlank() || token == null) {
+            return false;
+        }
+        // Vergleich in konstanter Zeit
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ResponseEntity<Map<String, Object>> forbidden() {
+        log.warn("Cache eviction rejected: missing or invalid {}", ADMIN_TOKEN_HEADER);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Admin token required"));
+    }
+}
@@ -1,19 +1,36 @@
 package com.jbx.econtract.controller;
 
 import com.jbx.econtract.model.dto.ContractDTO;
+import com.jbx.econtract.model.dto.ContractFilter;
+import com.jbx.econtract.model.dto.ContractStatusChange;
+import com.jbx.econtract.model.dto.CursorPage;
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.projection.ContractListItem;
+import com.jbx.econtract.service.ContractBulkService;
+import com.jbx.econtract.service.ContractSearchService;
 import com.jbx.econtract.service.ContractService;
+import com.jbx.econtract.service.DataExportService;
+import com.jbx.econtract.service.DataExportService.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +46,11 @@ import java.util.Map;
 public class ContractController {
 
     private final ContractService contractService;
+    private final DataExportService dataExportService;
+    private final ContractSearchService contractSearchService;
+    private final ContractBulkService contractBulkService;
+
+    private static final String NDJSON = "application/x-ndjson";
 
     /**
      * Erstellt einen neuen Vertrag
@@ -41,15 +63,69 @@ public class ContractController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Legt Verträge in großer Zahl an (JSON-Array oder NDJSON), Ergebnis je Eintrag
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    @Operation(summary = "Verträge in großer Zahl anlegen (JSON-Array oder NDJSON, blockweise Transaktionen)")
+    public ResponseEntity<?> bulkCreateContracts(HttpServletRequest request) throws IOException {
+        log.info("POST /api/v1/contracts/bulk");
+        try {
+            return ResponseEntity.ok(contractBulkService.createAll(
+                    contractBulkService.read(request.getInputStream(), ContractDTO.class)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bulk request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Aktualisiert Verträge in großer Zahl (JSON-Array oder NDJSON, id je Eintrag), Ergebnis je Eintrag
+     */
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    @Operation(summary = "Verträge in großer Zahl aktualisieren (JSON-Array oder NDJSON, blockweise Transaktionen)")
+    public ResponseEntity<?> bulkUpdateContracts(HttpServletRequest request) throws IOException {
+        log.info("PUT /api/v1/contracts/bulk");
+        try {
+            return ResponseEntity.ok(contractBulkService.updateAll(
+                    contractBulkService.read(request.getInputStream(), ContractDTO.class)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bulk request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Setzt den Status von Verträgen in großer Zahl (Einträge {id, status}), Ergebnis je Eintrag
+     */
+    @PostMapping(value = "/bulk/status", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    @Operation(summary = "Status von Verträgen in großer Zahl setzen (JSON-Array oder NDJSON)")
+    public ResponseEntity<?> bulkChangeStatus(HttpServletRequest request) throws IOException {
+        log.info("POST /api/v1/contracts/bulk/status");
+        try {
+            return ResponseEntity.ok(contractBulkService.changeStatusAll(
+                    contractBulkService.read(request.getInputStream(), ContractStatusChange.class)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bulk request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
     /**
      * Holt einen Vertrag nach ID
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Vertrag nach ID abrufen")
-    public ResponseEntity<ContractDTO> getContract(@PathVariable Long id) {
+    @Operation(summary = "Vertrag nach ID abrufen (ETag, If-None-Match)")
+    public ResponseEntity<ContractDTO> getContract(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET /api/v1/contracts/{} - Fetching contract", id);
         ContractDTO contract = contractService.getContractById(id);
-        return ResponseEntity.ok(contract);
+        String etag = etag(contract);
+        if (VersionETags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(contract);
     }
 
     /**
@@ -57,66 +133,117 @@ public class ContractController {
      */
     @GetMapping(params = "all")
     @Operation(summary = "Alle Verträge ohne Pagination")
-    public ResponseEntity<java.util.List<ContractDTO>> getAllContractsUnpaged(@RequestParam(required = false) String all) {
+    public ResponseEntity<java.util.List<ContractListItem>> getAllContractsUnpaged(@RequestParam(required = false) String all) {
         log.info("GET /api/v1/contracts?all - Fetching all contracts");
-        java.util.List<ContractDTO> contracts = contractService.getAllContractsUnpaged();
+        java.util.List<ContractListItem> contracts = contractService.getAllContractsUnpaged();
         return ResponseEntity.ok(contracts);
     }
 
     /**
-     * Holt alle Verträge (paginiert)
+     * Streamt alle Verträge zeilenweise (für Massenabzüge statt ?all)
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Alle Verträge als NDJSON oder CSV streamen (DB-Cursor, konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> exportContracts(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/contracts/export - format: {}", format);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment", "Vertraege_" + LocalDate.now() + "." + format.getExtension());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> dataExportService.exportContracts(format, filter, out));
+    }
+
+    /**
+     * Holt Verträge (paginiert), gefiltert nach allen gesetzten Kriterien
      */
     @GetMapping
-    @Operation(summary = "Alle Verträge abrufen (paginiert)")
-    public ResponseEntity<Page<ContractDTO>> getAllContracts(
+    @Operation(summary = "Verträge abrufen (paginiert, Filter kombinierbar)")
+    public ResponseEntity<Page<ContractListItem>> getAllContracts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir,
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String contractType) {
+            @ParameterObject ContractFilter filter) {
         
-        log.info("GET /api/v1/contracts - page: {}, size: {}", page, size);
+        log.info("GET /api/v1/contracts - page: {}, size: {}, filter: {}", page, size, filter);
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") 
                 ? Sort.by(sortBy).ascending() 
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ContractDTO> contracts;
-        if (status != null) {
-            contracts = contractService.getContractsByStatus(status, pageable);
-        } else if (contractType != null) {
-            contracts = contractService.getContractsByType(contractType, pageable);
-        } else {
-            contracts = contractService.getAllContracts(pageable);
+        return ResponseEntity.ok(contractService.findContracts(filter, pageable));
+    }
+
+    /**
+     * Holt Verträge per Keyset-Pagination (nextCursor statt Seitennummer)
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Verträge seitenweise per Cursor abrufen (ohne COUNT, konstante Kosten je Seite)")
+    public ResponseEntity<CursorPage<ContractDTO>> scrollContracts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @ParameterObject ContractFilter filter) {
+        log.info("GET /api/v1/contracts/scroll - size: {}, filter: {}", size, filter);
+        try {
+            return ResponseEntity.ok(contractService.scrollContracts(cursor, size, sortBy, sortDir, filter));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid scroll request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
-        
-        return ResponseEntity.ok(contracts);
     }
 
     /**
      * Aktualisiert einen Vertrag
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Vertrag aktualisieren")
+    @Operation(summary = "Vertrag aktualisieren (If-Match: 412 bei veraltetem Stand)")
     public ResponseEntity<ContractDTO> updateContract(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody ContractDTO dto) {
         log.info("PUT /api/v1/contracts/{} - Updating contract", id);
-        ContractDTO updated = contractService.updateContract(id, dto);
-        return ResponseEntity.ok(updated);
+        try {
+            ContractDTO updated = contractService.updateContract(id, dto, VersionETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etag(updated)).body(updated);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Contract {} not updated: {}", id, e.getMessage());
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
      * Löscht einen Vertrag
      */
     @DeleteMapping("/{id}")
-    @Operation(summary = "Vertrag löschen")
-    public ResponseEntity<Void> deleteContract(@PathVariable Long id) {
+    @Operation(summary = "Vertrag löschen (If-Match: 412 bei veraltetem Stand)")
+    public ResponseEntity<Void> deleteContract(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("DELETE /api/v1/contracts/{} - Deleting contract", id);
-        contractService.deleteContract(id);
-        return ResponseEntity.noContent().build();
+        try {
+            contractService.deleteContract(id, VersionETags.expectedVersion(ifMatch));
+            return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Contract {} not deleted: {}", id, e.getMessage());
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * ETag eines Vertrags; mit Enddatum hängt "Tage bis Ablauf" vom heutigen Tag ab
+     */
+    private static String etag(ContractDTO contract) {
+        return contract.getEndDate() != null
+                ? VersionETags.of(contract.getVersion(), LocalDate.now())
+                : VersionETags.of(contract.getVersion());
     }
 
     /**
@@ -145,6 +272,22 @@ public class ContractController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Baut den Solr-Suchindex neu auf
+     */
+    @PostMapping("/search/reindex")
+    @Operation(summary = "Suchindex neu aufbauen")
+    public ResponseEntity<Map<String, Object>> reindexSearch() {
+        log.info("POST /api/v1/contracts/search/reindex");
+        try {
+            long count = contractSearchService.reindexAll();
+            return ResponseEntity.ok(Map.of("indexed", count));
+        } catch (Exception e) {
+            log.error("Error rebuilding search index", e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
     /**
      * Dashboard-Statistiken
      */
@@ -1,5 +1,6 @@
 package com.jbx.econtract.controller;
 
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.ContractImportQueue;
 import com.jbx.econtract.model.entity.ImportBatch;
 import com.jbx.econtract.service.ContractImportService;
@@ -104,4 +105,16 @@ public class ContractImportController {
     public ResponseEntity<List<ContractImportQueue>> getHistory() {
         return ResponseEntity.ok(importService.getImportHistory());
     }
+    
+    @GetMapping("/history/scroll")
+    @Operation(summary = "Import-Historie seitenweise per Cursor")
+    public ResponseEntity<CursorPage<ContractImportQueue>> scrollHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(importService.scrollImportHistory(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
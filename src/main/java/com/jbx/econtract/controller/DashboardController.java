@@ -1,16 +1,22 @@
 package com.jbx.econtract.controller;
 
-import com.jbx.econtract.service.ContractService;
+import com.jbx.econtract.model.entity.Contract;
 import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.service.ContractCubeService;
+import com.jbx.econtract.service.ContractSummaryService;
+import com.jbx.econtract.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -25,48 +31,38 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class DashboardController {
 
-    private final ContractService contractService;
     private final ContractRepository contractRepository;
+    private final DashboardService dashboardService;
+    private final ContractSummaryService contractSummaryService;
+    private final ContractCubeService contractCubeService;
 
     /**
      * Erweiterte Dashboard-Statistiken
      */
     @GetMapping("/stats")
     @Operation(summary = "Erweiterte Dashboard-Statistiken")
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         log.info("GET /api/v1/dashboard/stats");
-        
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Basis-Statistiken
-        stats.put("total_contracts", contractRepository.count());
-        stats.put("draft", contractService.countByStatus("DRAFT"));
-        stats.put("in_approval", contractService.countByStatus("IN_APPROVAL"));
-        stats.put("active", contractService.countByStatus("ACTIVE"));
-        stats.put("expired", contractService.countByStatus("EXPIRED"));
-        
-        // Verträge nach Typ (deutsche Bezeichnungen aus Sample Data)
-        Map<String, Long> byType = new HashMap<>();
-        byType.put("Lieferantenvertrag", contractRepository.countByContractType("Lieferantenvertrag"));
-        byType.put("Kundenvertrag", contractRepository.countByContractType("Kundenvertrag"));
-        byType.put("Dienstleistungsvertrag", contractRepository.countByContractType("Dienstleistungsvertrag"));
-        byType.put("NDA", contractRepository.countByContractType("NDA"));
-        byType.put("Projektvertrag", contractRepository.countByContractType("Projektvertrag"));
-        byType.put("Rahmenvertrag", contractRepository.countByContractType("Rahmenvertrag"));
-        stats.put("by_type", byType);
-        
-        // Ablaufende Verträge (nächste 30 Tage)
-        LocalDate today = LocalDate.now();
-        LocalDate in30Days = today.plusDays(30);
-        int expiringCount = contractRepository.findExpiringContracts(today, in30Days).size();
-        stats.put("expiring_soon", expiringCount);
-        
-        // Gesamtwert aller aktiven Verträge
-        // TODO: Implementierung mit SQL Aggregation
-        stats.put("total_value", 0);
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardService.getStats());
+    }
+
+    /**
+     * Push-Kanal für Dashboard-Änderungen (ersetzt Polling von /stats)
+     *
+     * Events: "stats" (vollständiger Stand bei Verbindung und nach Abgleich),
+     * "delta" (Zähleränderungen seit dem letzten Takt), "heartbeat"
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Dashboard-Änderungen als Server-Sent Events")
+    public ResponseEntity<SseEmitter> streamEvents() {
+        log.info("GET /api/v1/dashboard/events");
+
+        SseEmitter emitter = dashboardService.subscribe();
+        if (emitter == null) {
+            log.warn("Dashboard SSE client limit reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
     }
 
     /**
@@ -76,20 +72,7 @@ public class DashboardController {
     @Operation(summary = "Vertrags-Trend der letzten 12 Monate")
     public ResponseEntity<List<Map<String, Object>>> getContractTrend() {
         log.info("GET /api/v1/dashboard/trend");
-        
-        List<Map<String, Object>> trend = new ArrayList<>();
-        
-        // TODO: Implementierung mit SQL GROUP BY
-        for (int i = 11; i >= 0; i--) {
-            Map<String, Object> month = new HashMap<>();
-            LocalDate date = LocalDate.now().minusMonths(i);
-            month.put("month", date.getMonth().toString());
-            month.put("year", date.getYear());
-            month.put("count", 0);
-            trend.add(month);
-        }
-        
-        return ResponseEntity.ok(trend);
+        return ResponseEntity.ok(contractSummaryService.getTrend(12));
     }
 
     /**
@@ -99,12 +82,38 @@ public class DashboardController {
     @Operation(summary = "Top 10 Partner nach Vertragswert")
     public ResponseEntity<List<Map<String, Object>>> getTopPartners() {
         log.info("GET /api/v1/dashboard/top-partners");
-        
-        List<Map<String, Object>> topPartners = new ArrayList<>();
-        
-        // TODO: Implementierung mit SQL Aggregation
-        
-        return ResponseEntity.ok(topPartners);
+        return ResponseEntity.ok(contractSummaryService.getTopPartners(10));
+    }
+
+    /**
+     * Portfolio-Würfel: Slice/Dice über Status, Typ, Abteilung und Anlagemonat ohne SQL
+     */
+    @GetMapping("/cube")
+    @Operation(summary = "Portfolio nach Status, Typ, Abteilung und Monat auswerten")
+    public ResponseEntity<Map<String, Object>> getCubeSlice(
+            @RequestParam(required = false) List<ContractCubeService.Dimension> groupBy,
+            @RequestParam(required = false) List<Contract.ContractStatus> status,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+        log.info("GET /api/v1/dashboard/cube?groupBy={}", groupBy);
+
+        if (!contractCubeService.isBuilt()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(contractCubeService.slice(
+                groupBy != null ? groupBy : List.of(), status, type, department, from, to));
+    }
+
+    /**
+     * Vorhandene Werte der Würfel-Dimensionen
+     */
+    @GetMapping("/cube/dimensions")
+    @Operation(summary = "Dimensionswerte des Portfolio-Würfels")
+    public ResponseEntity<Map<String, Object>> getCubeDimensions() {
+        log.info("GET /api/v1/dashboard/cube/dimensions");
+        return ResponseEntity.ok(contractCubeService.getDimensions());
     }
 
     /**
@@ -144,16 +153,6 @@ public class DashboardController {
     @Operation(summary = "Übersicht über Vertragswerte")
     public ResponseEntity<Map<String, Object>> getValueOverview() {
         log.info("GET /api/v1/dashboard/value-overview");
-        
-        Map<String, Object> overview = new HashMap<>();
-        
-        // TODO: SQL Aggregation für Summen
-        overview.put("total_value", BigDecimal.ZERO);
-        overview.put("active_value", BigDecimal.ZERO);
-        overview.put("draft_value", BigDecimal.ZERO);
-        overview.put("average_value", BigDecimal.ZERO);
-        
-        return ResponseEntity.ok(overview);
+        return ResponseEntity.ok(contractSummaryService.getValueOverview());
     }
 }
-
@@ -1,18 +1,29 @@
 package com.jbx.econtract.controller;
 
+import com.jbx.econtract.model.dto.CursorPage;
+import com.jbx.econtract.model.dto.ReportFilter;
 import com.jbx.econtract.model.entity.Invoice;
 import com.jbx.econtract.model.entity.Invoice.InvoiceStatus;
 import com.jbx.econtract.model.entity.InvoiceItem;
+import com.jbx.econtract.service.DataExportService;
+import com.jbx.econtract.service.DataExportService.ExportFormat;
 import com.jbx.econtract.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -28,6 +39,7 @@ import java.util.List;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final DataExportService dataExportService;
 
     @PostMapping
     @Operation(summary = "Create a new invoice")
@@ -43,34 +55,82 @@ public class InvoiceController {
         return ResponseEntity.ok(invoices);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Get invoices page by page using a cursor (no COUNT, constant cost per page)")
+    public ResponseEntity<CursorPage<Invoice>> scrollInvoices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "invoiceDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) Long contractId) {
+        try {
+            return ResponseEntity.ok(invoiceService.scrollInvoices(cursor, size, sortBy, sortDir, status, contractId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all invoices as NDJSON or CSV (database cursor, constant memory)")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+        @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+        @ParameterObject ReportFilter filter
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment", "invoices_" + LocalDate.now() + "." + format.getExtension());
+
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(out -> dataExportService.exportInvoices(format, filter, out));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get invoice by ID")
-    public ResponseEntity<Invoice> getInvoiceById(@PathVariable Long id) {
+    @Operation(summary = "Get invoice by ID (ETag, If-None-Match)")
+    public ResponseEntity<Invoice> getInvoiceById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         return invoiceService.getInvoiceById(id)
-            .map(ResponseEntity::ok)
+            .map(invoice -> {
+                String etag = VersionETags.of(invoice.getVersion());
+                if (VersionETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Invoice>build();
+                }
+                return ResponseEntity.ok().eTag(etag).body(invoice);
+            })
             .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an invoice")
+    @Operation(summary = "Update an invoice (If-Match: 412 if stale)")
     public ResponseEntity<Invoice> updateInvoice(
         @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Invoice invoice
     ) {
         try {
-            Invoice updated = invoiceService.updateInvoice(id, invoice);
-            return ResponseEntity.ok(updated);
+            Invoice updated = invoiceService.updateInvoice(id, invoice, VersionETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionETags.of(updated.getVersion())).body(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete an invoice")
-    public ResponseEntity<Void> deleteInvoice(@PathVariable Long id) {
+    @Operation(summary = "Delete an invoice (If-Match: 412 if stale)")
+    public ResponseEntity<Void> deleteInvoice(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
         try {
-            invoiceService.deleteInvoice(id);
+            invoiceService.deleteInvoice(id, VersionETags.expectedVersion(ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
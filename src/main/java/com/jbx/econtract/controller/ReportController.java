@@ -1,22 +1,32 @@
 package com.jbx.econtract.controller;
 
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.service.ReportBundleService;
+import com.jbx.econtract.service.ReportCacheService;
 import com.jbx.econtract.service.ReportService;
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 /**
  * REST Controller für Berichte
+ *
+ * Alle Berichte akzeptieren optional status, contractType, department, partnerId, partnerName,
+ * from und to (ISO-Datum); die Filter werden in SQL ausgewertet.
  */
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -26,6 +36,8 @@ import java.time.format.DateTimeFormatter;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportCacheService reportCacheService;
+    private final ReportBundleService reportBundleService;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     // ========================================================================
@@ -34,11 +46,11 @@ public class ReportController {
 
     @GetMapping("/contracts/pdf")
     @Operation(summary = "Vertragsbericht als PDF exportieren")
-    public ResponseEntity<byte[]> exportContractsPDF() {
+    public ResponseEntity<byte[]> exportContractsPDF(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/contracts/pdf");
         
         try {
-            byte[] pdfBytes = reportService.generateContractReportPDF();
+            byte[] pdfBytes = reportCacheService.getReport(ReportType.CONTRACTS, ReportFormat.PDF, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -56,11 +68,11 @@ public class ReportController {
 
     @GetMapping("/contracts/excel")
     @Operation(summary = "Vertragsbericht als Excel exportieren")
-    public ResponseEntity<byte[]> exportContractsExcel() {
+    public ResponseEntity<byte[]> exportContractsExcel(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/contracts/excel");
         
         try {
-            byte[] excelBytes = reportService.generateContractReportExcel();
+            byte[] excelBytes = reportCacheService.getReport(ReportType.CONTRACTS, ReportFormat.EXCEL, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
@@ -76,17 +88,31 @@ public class ReportController {
         }
     }
 
+    @GetMapping("/contracts/excel/stream")
+    @Operation(summary = "Vertragsbericht als Excel streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamContractsExcel(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/contracts/excel/stream");
+        return streamReport(ReportType.CONTRACTS, ReportFormat.EXCEL, filter);
+    }
+
+    @GetMapping("/contracts/pdf/stream")
+    @Operation(summary = "Vertragsbericht als PDF streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamContractsPDF(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/contracts/pdf/stream");
+        return streamReport(ReportType.CONTRACTS, ReportFormat.PDF, filter);
+    }
+
     // ========================================================================
     // COMPLIANCE-BERICHTE
     // ========================================================================
 
     @GetMapping("/compliance/pdf")
     @Operation(summary = "Compliance-Bericht als PDF exportieren")
-    public ResponseEntity<byte[]> exportCompliancePDF() {
+    public ResponseEntity<byte[]> exportCompliancePDF(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/compliance/pdf");
         
         try {
-            byte[] pdfBytes = reportService.generateComplianceReportPDF();
+            byte[] pdfBytes = reportCacheService.getReport(ReportType.COMPLIANCE, ReportFormat.PDF, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -104,11 +130,11 @@ public class ReportController {
 
     @GetMapping("/compliance/excel")
     @Operation(summary = "Compliance-Bericht als Excel exportieren")
-    public ResponseEntity<byte[]> exportComplianceExcel() {
+    public ResponseEntity<byte[]> exportComplianceExcel(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/compliance/excel");
         
         try {
-            byte[] excelBytes = reportService.generateComplianceReportExcel();
+            byte[] excelBytes = reportCacheService.getReport(ReportType.COMPLIANCE, ReportFormat.EXCEL, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
@@ -124,17 +150,31 @@ public class ReportController {
         }
     }
 
+    @GetMapping("/compliance/excel/stream")
+    @Operation(summary = "Compliance-Bericht als Excel streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamComplianceExcel(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/compliance/excel/stream");
+        return streamReport(ReportType.COMPLIANCE, ReportFormat.EXCEL, filter);
+    }
+
+    @GetMapping("/compliance/pdf/stream")
+    @Operation(summary = "Compliance-Bericht als PDF streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamCompliancePDF(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/compliance/pdf/stream");
+        return streamReport(ReportType.COMPLIANCE, ReportFormat.PDF, filter);
+    }
+
     // ========================================================================
     // FINANZBERICHTE
     // ========================================================================
 
     @GetMapping("/financial/pdf")
     @Operation(summary = "Finanzbericht als PDF exportieren")
-    public ResponseEntity<byte[]> exportFinancialPDF() {
+    public ResponseEntity<byte[]> exportFinancialPDF(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/financial/pdf");
         
         try {
-            byte[] pdfBytes = reportService.generateFinancialReportPDF();
+            byte[] pdfBytes = reportCacheService.getReport(ReportType.FINANCIAL, ReportFormat.PDF, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -152,11 +192,11 @@ public class ReportController {
 
     @GetMapping("/financial/excel")
     @Operation(summary = "Finanzbericht als Excel exportieren")
-    public ResponseEntity<byte[]> exportFinancialExcel() {
+    public ResponseEntity<byte[]> exportFinancialExcel(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/financial/excel");
         
         try {
-            byte[] excelBytes = reportService.generateFinancialReportExcel();
+            byte[] excelBytes = reportCacheService.getReport(ReportType.FINANCIAL, ReportFormat.EXCEL, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
@@ -172,17 +212,31 @@ public class ReportController {
         }
     }
 
+    @GetMapping("/financial/excel/stream")
+    @Operation(summary = "Finanzbericht als Excel streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamFinancialExcel(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/financial/excel/stream");
+        return streamReport(ReportType.FINANCIAL, ReportFormat.EXCEL, filter);
+    }
+
+    @GetMapping("/financial/pdf/stream")
+    @Operation(summary = "Finanzbericht als PDF streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamFinancialPDF(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/financial/pdf/stream");
+        return streamReport(ReportType.FINANCIAL, ReportFormat.PDF, filter);
+    }
+
     // ========================================================================
     // ZAHLUNGSBERICHTE
     // ========================================================================
 
     @GetMapping("/payments/pdf")
     @Operation(summary = "Zahlungsbericht als PDF exportieren")
-    public ResponseEntity<byte[]> exportPaymentsPDF() {
+    public ResponseEntity<byte[]> exportPaymentsPDF(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/payments/pdf");
         
         try {
-            byte[] pdfBytes = reportService.generatePaymentReportPDF();
+            byte[] pdfBytes = reportCacheService.getReport(ReportType.PAYMENTS, ReportFormat.PDF, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -200,11 +254,11 @@ public class ReportController {
 
     @GetMapping("/payments/excel")
     @Operation(summary = "Zahlungsbericht als Excel exportieren")
-    public ResponseEntity<byte[]> exportPaymentsExcel() {
+    public ResponseEntity<byte[]> exportPaymentsExcel(@ParameterObject ReportFilter filter) {
         log.info("GET /api/v1/reports/payments/excel");
         
         try {
-            byte[] excelBytes = reportService.generatePaymentReportExcel();
+            byte[] excelBytes = reportCacheService.getReport(ReportType.PAYMENTS, ReportFormat.EXCEL, filter);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
@@ -219,4 +273,55 @@ public class ReportController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/payments/excel/stream")
+    @Operation(summary = "Zahlungsbericht als Excel streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamPaymentsExcel(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/payments/excel/stream");
+        return streamReport(ReportType.PAYMENTS, ReportFormat.EXCEL, filter);
+    }
+
+    @GetMapping("/payments/pdf/stream")
+    @Operation(summary = "Zahlungsbericht als PDF streamen (konstanter Speicherbedarf)")
+    public ResponseEntity<StreamingResponseBody> streamPaymentsPDF(@ParameterObject ReportFilter filter) {
+        log.info("GET /api/v1/reports/payments/pdf/stream");
+        return streamReport(ReportType.PAYMENTS, ReportFormat.PDF, filter);
+    }
+
+    // ========================================================================
+    // MONATSABSCHLUSS
+    // ========================================================================
+
+    @GetMapping("/bundle")
+    @Operation(summary = "Alle Berichte (PDF & Excel) als ZIP exportieren")
+    public ResponseEntity<StreamingResponseBody> exportBundle() {
+        log.info("GET /api/v1/reports/bundle");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment",
+                "Berichte_" + LocalDate.now().format(DATE_FORMATTER) + ".zip");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(reportBundleService::writeBundle);
+    }
+
+    // ========================================================================
+    // HELPER METHODS
+    // ========================================================================
+
+    /**
+     * Schreibt den Bericht direkt in die HTTP-Response, ohne byte[]-Zwischenkopie
+     */
+    private ResponseEntity<StreamingResponseBody> streamReport(ReportType type, ReportFormat format, ReportFilter filter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment",
+                type.getFilePrefix() + "_" + LocalDate.now().format(DATE_FORMATTER) + "." + format.getExtension());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> reportService.writeReport(type, format, filter, out));
+    }
 }
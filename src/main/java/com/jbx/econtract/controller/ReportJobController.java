@@ -0,0 +1,117 @@
+package com.jbx.econtract.controller;
+
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.entity.ExportJob;
+import com.jbx.econtract.service.ReportJobService;
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller für asynchrone Report-Jobs
+ *
+ * Ablauf: Job anlegen → Status abfragen → Ergebnis herunterladen
+ */
+@RestController
+@RequestMapping("/api/v1/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Jobs", description = "Asynchrone Berichtserstellung")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @PostMapping
+    @Operation(summary = "Report-Job anlegen (identische laufende Jobs werden wiederverwendet)")
+    public ResponseEntity<Map<String, Object>> submitJob(
+            @RequestParam ReportType type,
+            @RequestParam ReportFormat format,
+            @ParameterObject ReportFilter filter,
+            @RequestParam(value = "createdBy", defaultValue = "system") String createdBy) {
+        log.info("POST /api/v1/reports/jobs - type: {}, format: {}, filter: {}", type, format, filter);
+
+        try {
+            ExportJob job = reportJobService.submit(type, format, filter, createdBy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(job));
+        } catch (RejectedExecutionException e) {
+            log.warn("Report job queue full, rejecting {} {}", type, format);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Status eines Report-Jobs abfragen")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable Long id) {
+        return reportJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(summary = "Ergebnis eines abgeschlossenen Report-Jobs herunterladen")
+    public ResponseEntity<Resource> download(@PathVariable Long id) {
+        log.info("GET /api/v1/reports/jobs/{}/download", id);
+
+        Optional<ExportJob> found = reportJobService.getJob(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ExportJob job = found.get();
+        if (job.getStatus() != ExportJob.JobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        Optional<Path> file = reportJobService.getResultFile(job);
+        if (file.isEmpty()) {
+            // Ergebnis ist bereits abgelaufen
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        ReportType type = ReportType.valueOf(job.getExportType());
+        ReportFormat format = ReportFormat.valueOf(job.getFormat());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment",
+                type.getFilePrefix() + "_" + job.getCompletedAt().format(DATE_FORMATTER) + "." + format.getExtension());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(file.get()));
+    }
+
+    private Map<String, Object> toResponse(ExportJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", job.getId());
+        response.put("type", job.getExportType());
+        response.put("format", job.getFormat());
+        response.put("status", job.getStatus().name());
+        response.put("createdAt", job.getCreatedAt());
+        response.put("completedAt", job.getCompletedAt());
+        response.put("errorMessage", job.getErrorMessage());
+        if (job.getStatus() == ExportJob.JobStatus.COMPLETED) {
+            response.put("downloadUrl", "/api/v1/reports/jobs/" + job.getId() + "/download");
+        }
+        return response;
+    }
+}
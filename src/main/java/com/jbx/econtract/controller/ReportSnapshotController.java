@@ -0,0 +1,111 @@
+package com.jbx.econtract.controller;
+
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import com.jbx.econtract.service.ReportSnapshotService;
+import com.jbx.econtract.service.ReportSnapshotService.Snapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller für vorgerenderte Berichte (nächtliche Snapshots)
+ */
+@RestController
+@RequestMapping("/api/v1/reports/snapshots")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Snapshots", description = "Vorgerenderte Standardberichte")
+public class ReportSnapshotController {
+
+    private static final String GENERATED_AT_HEADER = "X-Report-Generated-At";
+
+    private final ReportSnapshotService reportSnapshotService;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @GetMapping
+    @Operation(summary = "Alle vorhandenen Snapshots mit Erstellungszeitpunkt auflisten")
+    public ResponseEntity<Map<String, Object>> getSnapshots() {
+        List<Map<String, Object>> snapshots = reportSnapshotService.getSnapshots().stream()
+                .map(this::toResponse)
+                .toList();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("snapshots", snapshots);
+        response.put("refreshing", reportSnapshotService.isRefreshing());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{type}/{format}")
+    @Operation(summary = "Vorgerenderten Bericht sofort herunterladen")
+    public ResponseEntity<Resource> download(@PathVariable ReportType type, @PathVariable ReportFormat format) {
+        log.info("GET /api/v1/reports/snapshots/{}/{}", type, format);
+
+        Optional<Snapshot> found = reportSnapshotService.getSnapshot(type, format);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Snapshot snapshot = found.get();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment",
+                type.getFilePrefix() + "_" + snapshot.generatedAt().format(DATE_FORMATTER) + "." + format.getExtension());
+        headers.setLastModified(snapshot.generatedAt().atZone(ZoneId.systemDefault()));
+        headers.set(GENERATED_AT_HEADER, snapshot.generatedAt().toString());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(snapshot.file()));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Snapshots jetzt aktualisieren (einzeln synchron, alle im Hintergrund)")
+    public ResponseEntity<Map<String, Object>> refresh(
+            @RequestParam(required = false) ReportType type,
+            @RequestParam(required = false) ReportFormat format) {
+        log.info("POST /api/v1/reports/snapshots/refresh - type: {}, format: {}", type, format);
+
+        if (type != null && format != null) {
+            try {
+                return ResponseEntity.ok(toResponse(reportSnapshotService.refresh(type, format)));
+            } catch (Exception e) {
+                log.error("Error refreshing report snapshot {} {}", type, format, e);
+                return ResponseEntity.internalServerError().build();
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        if (!reportSnapshotService.refreshAllAsync()) {
+            response.put("message", "Aktualisierung läuft bereits");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("message", "Aktualisierung gestartet");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private Map<String, Object> toResponse(Snapshot snapshot) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("type", snapshot.type().name());
+        response.put("format", snapshot.format().name());
+        response.put("generatedAt", snapshot.generatedAt());
+        response.put("size", snapshot.size());
+        response.put("downloadUrl", "/api/v1/reports/snapshots/" + snapshot.type().name() + "/" + snapshot.format().name());
+        return response;
+    }
+}
@@ -1,11 +1,14 @@
 package com.jbx.econtract.controller;
 
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.ServiceRecord;
+import com.jbx.econtract.model.entity.ServiceRecord.ServiceRecordStatus;
 import com.jbx.econtract.service.ServiceRecordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +45,22 @@ public class ServiceRecordController {
         return ResponseEntity.ok(records);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Get service records page by page using a cursor (no COUNT, constant cost per page)")
+    public ResponseEntity<CursorPage<ServiceRecord>> scrollServiceRecords(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "serviceDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @RequestParam(required = false) ServiceRecordStatus status,
+            @RequestParam(required = false) Long contractId) {
+        try {
+            return ResponseEntity.ok(serviceRecordService.scrollServiceRecords(cursor, size, sortBy, sortDir, status, contractId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get service record by ID")
     public ResponseEntity<ServiceRecord> getServiceRecordById(@PathVariable Long id) {
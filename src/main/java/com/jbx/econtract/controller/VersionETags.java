@@ -0,0 +1,77 @@
+package com.jbx.econtract.controller;
+
+import java.time.LocalDate;
+
+/**
+ * ETags aus der Versionsspalte einer Entität
+ *
+ * Format "<version>" bzw. "<version>-<datum>", wenn die Darstellung vom Kalendertag abhängt (Tage bis Ablauf).
+ * If-Match vergleicht nur die Version: hat sich nur der Tag geändert, beruht der Client weiterhin auf dem
+ * aktuellen Stand.
+ */
+final class VersionETags {
+
+    /**
+     * Erwartete Version, die nie passt (If-Match ohne gültiges Tag)
+     */
+    static final long NO_MATCH = -1L;
+
+    private VersionETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    static String of(Long version, LocalDate day) {
+        return "\"" + (version != null ? version : 0L) + "-" + day + "\"";
+    }
+
+    /**
+     * If-None-Match mit schwachem Vergleich, "*" passt immer
+     */
+    static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Erwartete Version aus If-Match
+     *
+     * @return null ohne Header oder bei "*", NO_MATCH wenn kein starkes Tag mit Version enthalten ist
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            // Schwache Tags (W/"...") passen bei If-Match nie
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int dash = value.indexOf('-');
+            try {
+                return Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+            } catch (NumberFormatException e) {
+                // nächstes Tag prüfen
+            }
+        }
+        return NO_MATCH;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jbx.econtract.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ergebnis eines Eintrags einer Massenverarbeitung
+ *
+ * index ist die Position des Eintrags in der Anfrage (ab 0).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private int index;
+    private boolean success;
+    private Long id;
+    private String contractNumber;
+    private String error;
+
+    public static BulkItemResult failed(int index, Long id, String error) {
+        return new BulkItemResult(index, false, id, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.jbx.econtract.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer Massenverarbeitung mit einem Eintrag je Anfrageelement (in Anfragereihenfolge)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+}
@@ -37,6 +37,7 @@ public class ContractDTO {
     private String createdByName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Zusätzliche Felder
     private Integer daysUntilExpiry;
@@ -65,6 +66,7 @@ public class ContractDTO {
         dto.setCreatedBy(contract.getCreatedBy());
         dto.setCreatedAt(contract.getCreatedAt());
         dto.setUpdatedAt(contract.getUpdatedAt());
+        dto.setVersion(contract.getVersion());
         
         // Berechne Tage bis Ablauf
         if (contract.getEndDate() != null) {
@@ -0,0 +1,45 @@
+package com.jbx.econtract.model.dto;
+
+import com.jbx.econtract.model.entity.Contract;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filter für Vertragslisten (wird als Query-Parameter gebunden und in SQL ausgewertet)
+ *
+ * Alle gesetzten Kriterien werden kombiniert (UND); mehrere Status sind alternativ (ODER).
+ * Bereichsgrenzen sind inklusiv und einzeln optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractFilter {
+
+    private List<Contract.ContractStatus> status;
+    private String contractType;
+    private String department;
+    private Long ownerUserId;
+    private Long partnerId;
+    private String partnerName;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endTo;
+
+    private BigDecimal minValue;
+    private BigDecimal maxValue;
+}
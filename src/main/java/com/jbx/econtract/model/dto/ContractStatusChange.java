@@ -0,0 +1,20 @@
+package com.jbx.econtract.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statuswechsel eines Vertrags (Massenverarbeitung)
+ *
+ * version ist optional; ist sie gesetzt, scheitert der Eintrag, wenn der Vertrag inzwischen geändert wurde.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractStatusChange {
+
+    private Long id;
+    private String status;
+    private Long version;
+}
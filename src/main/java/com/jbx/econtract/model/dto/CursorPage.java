@@ -0,0 +1,22 @@
+package com.jbx.econtract.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seite einer Keyset-Pagination
+ *
+ * nextCursor ist undurchsichtig und wird unverändert als Parameter cursor zurückgegeben; null auf der letzten Seite.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
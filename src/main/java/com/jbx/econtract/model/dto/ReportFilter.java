@@ -0,0 +1,75 @@
+package com.jbx.econtract.model.dto;
+
+import com.jbx.econtract.model.entity.Contract;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.StringJoiner;
+
+/**
+ * Filter für Berichte (wird als Query-Parameter gebunden und in SQL ausgewertet)
+ *
+ * Der Zeitraum trifft alle Verträge, deren Laufzeit sich mit [from, to] überschneidet;
+ * im Zahlungsbericht wird er auf das Rechnungsdatum angewendet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportFilter {
+
+    private Contract.ContractStatus status;
+    private String contractType;
+    private String department;
+    private Long partnerId;
+    private String partnerName;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /**
+     * Filter ohne Einschränkung (Gesamtbestand)
+     */
+    public static ReportFilter none() {
+        return new ReportFilter();
+    }
+
+    public boolean isEmpty() {
+        return status == null && isBlank(contractType) && isBlank(department)
+                && partnerId == null && isBlank(partnerName) && from == null && to == null;
+    }
+
+    /**
+     * Betrifft der Filter Vertragsattribute (für den Zahlungsbericht per Subquery auf contracts)?
+     */
+    public boolean hasContractCriteria() {
+        return status != null || !isBlank(contractType) || !isBlank(department);
+    }
+
+    /**
+     * Stabile Textdarstellung für Cache-Schlüssel
+     */
+    public String toKey() {
+        if (isEmpty()) {
+            return "all";
+        }
+        StringJoiner key = new StringJoiner("|");
+        key.add(String.valueOf(status))
+                .add(String.valueOf(contractType))
+                .add(String.valueOf(department))
+                .add(String.valueOf(partnerId))
+                .add(String.valueOf(partnerName))
+                .add(String.valueOf(from))
+                .add(String.valueOf(to));
+        return key.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,9 +1,17 @@
 package com.jbx.econtract.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jbx.econtract.model.listener.ContractCounterListener;
+import com.jbx.econtract.model.listener.ContractSearchIndexListener;
+import com.jbx.econtract.model.listener.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -12,16 +20,23 @@ import java.time.LocalDateTime;
 /**
  * Contract Entity
  * Repräsentiert einen Vertrag im System
+ *
+ * Im Second-Level-Cache (Region contracts, prozesslokal, siehe ehcache.xml): setzt einen einzelnen
+ * Anwendungsknoten voraus.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contracts")
 @Table(name = "contracts")
+@EntityListeners({DataVersionListener.class, ContractCounterListener.class, ContractSearchIndexListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Contract {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contracts_seq")
+    @SequenceGenerator(name = "contracts_seq", sequenceName = "contracts_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "contract_number", unique = true, nullable = false, length = 50)
@@ -89,6 +104,10 @@ public class Contract {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -120,4 +139,13 @@ public class Contract {
     
     @Column(name = "is_framework_child")
     private Boolean isFrameworkChild = false;
+
+    /**
+     * Zuletzt gezählter Zustand für die Dashboard-Zähler (nicht persistent)
+     */
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ContractCounterListener.CountedState countedState;
 }
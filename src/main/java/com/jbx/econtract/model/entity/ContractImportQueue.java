@@ -1,16 +1,19 @@
 package com.jbx.econtract.model.entity;
 
+import com.jbx.econtract.model.listener.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "contract_import_queue")
 @Data
 public class ContractImportQueue {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_import_queue_seq")
+    @SequenceGenerator(name = "contract_import_queue_seq", sequenceName = "contract_import_queue_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "batch_id")
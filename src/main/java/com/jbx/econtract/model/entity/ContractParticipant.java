@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 public class ContractParticipant {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_participants_seq")
+    @SequenceGenerator(name = "contract_participants_seq", sequenceName = "contract_participants_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "contract_id", nullable = false)
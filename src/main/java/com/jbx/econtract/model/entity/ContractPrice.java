@@ -5,6 +5,8 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contract-prices")
 @Table(name = "contract_prices")
 @Data
 @NoArgsConstructor
@@ -24,7 +28,8 @@ import java.time.LocalDateTime;
 public class ContractPrice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_prices_seq")
+    @SequenceGenerator(name = "contract_prices_seq", sequenceName = "contract_prices_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Contract ID is required")
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class ContractUpload {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_uploads_seq")
+    @SequenceGenerator(name = "contract_uploads_seq", sequenceName = "contract_uploads_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 255)
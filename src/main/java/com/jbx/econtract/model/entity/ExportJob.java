@@ -0,0 +1,63 @@
+package com.jbx.econtract.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export Job Entity
+ * Asynchron erzeugter Bericht, dessen Ergebnisdatei auf der Platte liegt
+ */
+@Entity
+@Table(name = "export_jobs")
+@Data
+@NoArgsConstructor
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "export_jobs_seq")
+    @SequenceGenerator(name = "export_jobs_seq", sequenceName = "export_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "export_type", nullable = false, length = 50)
+    private String exportType;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(20)")
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
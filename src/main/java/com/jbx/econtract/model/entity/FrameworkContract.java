@@ -1,6 +1,7 @@
 package com.jbx.econtract.model.entity;
 
 import com.jbx.econtract.model.entity.Contract.ContractStatus;
+import com.jbx.econtract.model.listener.DataVersionListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -8,11 +9,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "framework_contracts")
 public class FrameworkContract {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "framework_contracts_seq")
+    @SequenceGenerator(name = "framework_contracts_seq", sequenceName = "framework_contracts_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "framework_number", unique = true, nullable = false, length = 50)
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 public class ImportBatch {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_batches_seq")
+    @SequenceGenerator(name = "import_batches_seq", sequenceName = "import_batches_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "batch_name")
@@ -1,5 +1,7 @@
 package com.jbx.econtract.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jbx.econtract.model.listener.DataVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -20,13 +22,15 @@ import java.util.List;
  */
 @Entity
 @Table(name = "invoices")
+@EntityListeners(DataVersionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Invoice number is required")
@@ -163,6 +167,11 @@ public class Invoice {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @Column(name = "cancelled_date")
     private LocalDateTime cancelledDate;
 
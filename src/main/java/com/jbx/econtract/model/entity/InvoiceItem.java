@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class InvoiceItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_items_seq")
+    @SequenceGenerator(name = "invoice_items_seq", sequenceName = "invoice_items_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Invoice ID is required")
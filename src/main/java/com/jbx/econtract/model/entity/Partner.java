@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +14,8 @@ import java.time.LocalDateTime;
  * Represents a business partner (customer, supplier, service provider)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "partners")
 @Table(name = "partners")
 @Data
 @NoArgsConstructor
@@ -19,7 +23,8 @@ import java.time.LocalDateTime;
 public class Partner {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partners_seq")
+    @SequenceGenerator(name = "partners_seq", sequenceName = "partners_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "price-tiers")
 @Table(name = "price_tiers")
 @Data
 @NoArgsConstructor
@@ -23,7 +27,8 @@ import java.time.LocalDateTime;
 public class PriceTier {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_tiers_seq")
+    @SequenceGenerator(name = "price_tiers_seq", sequenceName = "price_tiers_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Contract price ID is required")
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 public class QuickFilter {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quick_filters_seq")
+    @SequenceGenerator(name = "quick_filters_seq", sequenceName = "quick_filters_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
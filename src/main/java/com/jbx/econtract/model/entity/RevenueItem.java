@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class RevenueItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revenue_items_seq")
+    @SequenceGenerator(name = "revenue_items_seq", sequenceName = "revenue_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service-categories")
 @Table(name = "service_categories")
 @Data
 @NoArgsConstructor
@@ -23,7 +27,8 @@ import java.time.LocalDateTime;
 public class ServiceCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_categories_seq")
+    @SequenceGenerator(name = "service_categories_seq", sequenceName = "service_categories_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Category name is required")
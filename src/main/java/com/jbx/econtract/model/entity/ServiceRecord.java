@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class ServiceRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_records_seq")
+    @SequenceGenerator(name = "service_records_seq", sequenceName = "service_records_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Contract ID is required")
@@ -0,0 +1,85 @@
+package com.jbx.econtract.model.listener;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.service.ContractCubeService;
+import com.jbx.econtract.service.ContractSummaryService;
+import com.jbx.econtract.service.DashboardCounterService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * JPA Entity Listener, der Dashboard-Zähler, Monatsaggregate und Portfolio-Würfel bei Änderungen an Verträgen fortschreibt
+ *
+ * Beim Laden wird der gezählte Zustand am Vertrag gemerkt; ein Update zählt dann vom alten
+ * in den neuen Status/Typ/Abteilung/Partner um.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContractCounterListener {
+
+    private final DashboardCounterService dashboardCounterService;
+    private final ContractSummaryService contractSummaryService;
+    private final ContractCubeService contractCubeService;
+
+    /**
+     * Für die Zähler relevanter Zustand eines Vertrags
+     */
+    public record CountedState(Contract.ContractStatus status, String contractType, String department,
+                               String partnerName, LocalDate month, long valueCents) {
+
+        static CountedState of(Contract contract) {
+            BigDecimal value = contract.getContractValue();
+            long cents = value != null ? value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+            LocalDate created = contract.getCreatedAt() != null ? contract.getCreatedAt().toLocalDate() : LocalDate.now();
+            return new CountedState(contract.getStatus(), contract.getContractType(), contract.getDepartment(),
+                    contract.getPartnerName(), created.withDayOfMonth(1), cents);
+        }
+    }
+
+    @PostLoad
+    public void onLoad(Contract contract) {
+        contract.setCountedState(CountedState.of(contract));
+    }
+
+    @PostPersist
+    public void onPersist(Contract contract) {
+        CountedState current = CountedState.of(contract);
+        dashboardCounterService.onChange(null, current);
+        contractSummaryService.onChange(null, current);
+        contractCubeService.onChange(null, current);
+        contract.setCountedState(current);
+    }
+
+    @PostUpdate
+    public void onUpdate(Contract contract) {
+        CountedState previous = contract.getCountedState();
+        CountedState current = CountedState.of(contract);
+        if (previous == null) {
+            // Vorheriger Zustand unbekannt: der nächste Abgleich korrigiert Zähler und Aggregate
+            log.debug("Contract {} updated without loaded state, counters are corrected on next reconciliation", contract.getId());
+        } else if (!previous.equals(current)) {
+            dashboardCounterService.onChange(previous, current);
+            contractSummaryService.onChange(previous, current);
+            contractCubeService.onChange(previous, current);
+        }
+        contract.setCountedState(current);
+    }
+
+    @PostRemove
+    public void onRemove(Contract contract) {
+        CountedState previous = contract.getCountedState() != null ? contract.getCountedState() : CountedState.of(contract);
+        dashboardCounterService.onChange(previous, null);
+        contractSummaryService.onChange(previous, null);
+        contractCubeService.onChange(previous, null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.jbx.econtract.model.listener;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.service.ContractSearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA Entity Listener, der geänderte Verträge für den Solr-Index vormerkt
+ *
+ * Wird von Hibernate über den Spring Bean Container instanziiert.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContractSearchIndexListener {
+
+    private final ContractSearchService contractSearchService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Contract contract) {
+        contractSearchService.markChanged(contract.getId());
+    }
+}
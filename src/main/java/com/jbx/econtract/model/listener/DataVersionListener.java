@@ -0,0 +1,40 @@
+package com.jbx.econtract.model.listener;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.entity.ContractImportQueue;
+import com.jbx.econtract.model.entity.FrameworkContract;
+import com.jbx.econtract.model.entity.Invoice;
+import com.jbx.econtract.service.DataVersionService;
+import com.jbx.econtract.service.DataVersionService.DataDomain;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA Entity Listener, der bei Schreibzugriffen auf Verträge, Rechnungen, Importe und Rahmenverträge den Datenstand erhöht
+ *
+ * Wird von Hibernate über den Spring Bean Container instanziiert.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionListener {
+
+    private final DataVersionService dataVersionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (entity instanceof Contract) {
+            dataVersionService.markChanged(DataDomain.CONTRACTS);
+        } else if (entity instanceof Invoice) {
+            dataVersionService.markChanged(DataDomain.INVOICES);
+        } else if (entity instanceof ContractImportQueue) {
+            dataVersionService.markChanged(DataDomain.IMPORTS);
+        } else if (entity instanceof FrameworkContract) {
+            dataVersionService.markChanged(DataDomain.FRAMEWORK_CONTRACTS);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Contract;
+
+import java.math.BigDecimal;
+
+/**
+ * Projektion: Anzahl und Vertragswert je Status, Vertragstyp und Abteilung (Abgleich der Dashboard-Zähler)
+ */
+public interface ContractBucketSummary {
+
+    Contract.ContractStatus getStatus();
+
+    String getContractType();
+
+    String getDepartment();
+
+    Long getCount();
+
+    BigDecimal getTotalValue();
+}
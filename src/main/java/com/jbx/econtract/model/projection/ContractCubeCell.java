@@ -0,0 +1,25 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Contract;
+
+import java.math.BigDecimal;
+
+/**
+ * Projektion: Anzahl und Vertragswert je Status, Vertragstyp, Abteilung und Anlagemonat (Aufbau des Portfolio-Würfels)
+ */
+public interface ContractCubeCell {
+
+    Contract.ContractStatus getStatus();
+
+    String getContractType();
+
+    String getDepartment();
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    Long getCount();
+
+    BigDecimal getTotalValue();
+}
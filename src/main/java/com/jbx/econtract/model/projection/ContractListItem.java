@@ -0,0 +1,37 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Contract;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projektion: Spalten für Vertragslisten (Konstruktor-Ausdruck, keine Entity-Hydrierung)
+ *
+ * Die JSON-Felder entsprechen denen von {@link com.jbx.econtract.model.dto.ContractDTO}, damit
+ * Listenansichten unverändert funktionieren.
+ */
+public record ContractListItem(Long id,
+                               String contractNumber,
+                               String title,
+                               String contractType,
+                               Contract.ContractStatus status,
+                               String partnerName,
+                               String department,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               BigDecimal contractValue,
+                               String currency,
+                               Long createdBy,
+                               LocalDateTime createdAt,
+                               LocalDateTime updatedAt) {
+
+    /**
+     * Ausgewählte Attribute in Konstruktorreihenfolge
+     */
+    public static final String[] ATTRIBUTES = {
+            "id", "contractNumber", "title", "contractType", "status", "partnerName", "department",
+            "startDate", "endDate", "contractValue", "currency", "createdBy", "createdAt", "updatedAt"
+    };
+}
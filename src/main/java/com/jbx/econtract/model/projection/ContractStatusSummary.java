@@ -0,0 +1,20 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Contract;
+
+import java.math.BigDecimal;
+
+/**
+ * Projektion: Anzahl und Vertragswert je Status (Ergebnis einer GROUP BY Abfrage)
+ */
+public interface ContractStatusSummary {
+
+    Contract.ContractStatus getStatus();
+
+    Long getCount();
+
+    /**
+     * Summe contract_value, null wenn alle Werte der Gruppe null sind
+     */
+    BigDecimal getTotalValue();
+}
@@ -0,0 +1,22 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Contract;
+
+import java.math.BigDecimal;
+
+/**
+ * Projektion: Anzahl und Vertragswert je Status und Vertragstyp (Ergebnis einer GROUP BY Abfrage)
+ */
+public interface ContractStatusTypeSummary {
+
+    Contract.ContractStatus getStatus();
+
+    String getContractType();
+
+    Long getCount();
+
+    /**
+     * Summe contract_value, null wenn alle Werte der Gruppe null sind
+     */
+    BigDecimal getTotalValue();
+}
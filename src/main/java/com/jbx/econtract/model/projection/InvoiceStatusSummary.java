@@ -0,0 +1,17 @@
+package com.jbx.econtract.model.projection;
+
+import com.jbx.econtract.model.entity.Invoice;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection: number of invoices and gross total per status (result of a GROUP BY query).
+ */
+public interface InvoiceStatusSummary {
+
+    Invoice.InvoiceStatus getStatus();
+
+    Long getCount();
+
+    BigDecimal getTotalGross();
+}
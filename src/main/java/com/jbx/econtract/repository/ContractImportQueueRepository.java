@@ -2,11 +2,13 @@ package com.jbx.econtract.repository;
 
 import com.jbx.econtract.model.entity.ContractImportQueue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ContractImportQueueRepository extends JpaRepository<ContractImportQueue, Long> {
+public interface ContractImportQueueRepository extends JpaRepository<ContractImportQueue, Long>,
+        JpaSpecificationExecutor<ContractImportQueue> {
     
     List<ContractImportQueue> findByStatus(ContractImportQueue.ImportStatus status);
     
@@ -17,5 +19,7 @@ public interface ContractImportQueueRepository extends JpaRepository<ContractImp
     Long countByStatus(ContractImportQueue.ImportStatus status);
     
     List<ContractImportQueue> findByStatusOrderByCreatedAtDesc(ContractImportQueue.ImportStatus status);
+    
+    List<ContractImportQueue> findByContractId(Long contractId);
 }
 
@@ -1,8 +1,11 @@
 package com.jbx.econtract.repository;
 
 import com.jbx.econtract.model.entity.ContractPrice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -34,6 +37,7 @@ public interface ContractPriceRepository extends JpaRepository<ContractPrice, Lo
      * @param isActive the active status
      * @return list of active contract prices
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ContractPrice> findByContractIdAndIsActive(Long contractId, Boolean isActive);
 
     /**
@@ -44,6 +48,7 @@ public interface ContractPriceRepository extends JpaRepository<ContractPrice, Lo
      * @param date the date to check
      * @return optional contract price
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT cp FROM ContractPrice cp WHERE cp.contractId = :contractId " +
            "AND cp.serviceCategoryId = :serviceCategoryId " +
            "AND cp.isActive = true " +
@@ -63,6 +68,7 @@ public interface ContractPriceRepository extends JpaRepository<ContractPrice, Lo
      * @param date the date to check
      * @return list of valid contract prices
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT cp FROM ContractPrice cp WHERE cp.contractId = :contractId " +
            "AND cp.isActive = true " +
            "AND cp.validFrom <= :date " +
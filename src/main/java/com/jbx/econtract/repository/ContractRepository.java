@@ -1,10 +1,17 @@
 package com.jbx.econtract.repository;
 
 import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.projection.ContractBucketSummary;
+import com.jbx.econtract.model.projection.ContractCubeCell;
+import com.jbx.econtract.model.projection.ContractStatusTypeSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,7 +23,13 @@ import java.util.Optional;
  * Repository für Contract Entity
  */
 @Repository
-public interface ContractRepository extends JpaRepository<Contract, Long> {
+public interface ContractRepository extends JpaRepository<Contract, Long>,
+        JpaSpecificationExecutor<Contract>, ContractRepositoryCustom {
+
+    /**
+     * JDBC Fetch Size für Cursor-basierte Streams (Reports, Exporte)
+     */
+    int STREAM_FETCH_SIZE = 500;
 
     /**
      * Findet Vertrag nach Vertragsnummer
@@ -60,6 +73,15 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Zählt Verträge, die bald ablaufen
+     */
+    @Query("SELECT COUNT(c) FROM Contract c WHERE c.endDate BETWEEN :startDate AND :endDate " +
+           "AND c.status IN ('APPROVED', 'ACTIVE')")
+    long countExpiringContracts(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     /**
      * Findet abgelaufene Verträge
      */
@@ -72,6 +94,30 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
      */
     Long countByStatus(Contract.ContractStatus status);
 
+    /**
+     * Anzahl und Vertragswert je Status und Typ in einer Abfrage (Dashboard)
+     */
+    @Query("SELECT c.status AS status, c.contractType AS contractType, COUNT(c) AS count, " +
+           "SUM(c.contractValue) AS totalValue FROM Contract c GROUP BY c.status, c.contractType")
+    List<ContractStatusTypeSummary> summarizeByStatusAndType();
+
+    /**
+     * Anzahl und Vertragswert je Status, Typ und Abteilung (Abgleich der Dashboard-Zähler)
+     */
+    @Query("SELECT c.status AS status, c.contractType AS contractType, c.department AS department, " +
+           "COUNT(c) AS count, SUM(c.contractValue) AS totalValue " +
+           "FROM Contract c GROUP BY c.status, c.contractType, c.department")
+    List<ContractBucketSummary> summarizeByStatusTypeAndDepartment();
+
+    /**
+     * Anzahl und Vertragswert je Status, Typ, Abteilung und Anlagemonat (Aufbau des Portfolio-Würfels)
+     */
+    @Query("SELECT c.status AS status, c.contractType AS contractType, c.department AS department, " +
+           "YEAR(c.createdAt) AS year, MONTH(c.createdAt) AS month, " +
+           "COUNT(c) AS count, SUM(c.contractValue) AS totalValue FROM Contract c " +
+           "GROUP BY c.status, c.contractType, c.department, YEAR(c.createdAt), MONTH(c.createdAt)")
+    List<ContractCubeCell> summarizeCubeCells();
+
     /**
      * Zählt Verträge nach Typ
      */
@@ -93,5 +139,11 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
      * Findet alle Einzelverträge eines Rahmenvertrags
      */
     List<Contract> findByFrameworkContractId(Long frameworkContractId);
-}
 
+    /**
+     * Alle Verträge seitenweise für den Solr-Reindex, ohne den Second-Level-Cache zu füllen
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT c FROM Contract c")
+    Page<Contract> findAllUncached(Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.projection.ContractListItem;
+import com.jbx.econtract.model.projection.ContractStatusSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ergänzende Abfragen mit dynamischen Filtern, die Spring Data nicht als Cursor-Stream anbietet
+ */
+public interface ContractRepositoryCustom {
+
+    /**
+     * Streamt alle passenden Verträge über einen DB-Cursor (nur innerhalb einer Transaktion nutzbar)
+     */
+    Stream<Contract> streamMatching(Specification<Contract> spec, Sort sort);
+
+    /**
+     * Anzahl und Vertragswert je Status für alle passenden Verträge (GROUP BY)
+     */
+    List<ContractStatusSummary> summarizeByStatusMatching(Specification<Contract> spec);
+
+    /**
+     * Listenspalten der passenden Verträge (paginiert, COUNT nur wenn nötig)
+     */
+    Page<ContractListItem> findListItems(Specification<Contract> spec, Pageable pageable);
+
+    /**
+     * Listenspalten aller passenden Verträge
+     */
+    List<ContractListItem> findAllListItems(Specification<Contract> spec, Sort sort);
+}
@@ -0,0 +1,146 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.projection.ContractListItem;
+import com.jbx.econtract.model.projection.ContractStatusSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-Implementierung von {@link ContractRepositoryCustom}
+ */
+@RequiredArgsConstructor
+class ContractRepositoryCustomImpl implements ContractRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Contract> streamMatching(Specification<Contract> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contract> query = cb.createQuery(Contract.class);
+        Root<Contract> root = query.from(Contract.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, ContractRepository.STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // Volle Tabellenläufe (Berichte, Exporte) sollen den Second-Level-Cache nicht verdrängen
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<ContractStatusSummary> summarizeByStatusMatching(Specification<Contract> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Contract> root = query.from(Contract.class);
+
+        query.multiselect(
+                root.get("status"),
+                cb.count(root),
+                cb.sum(root.<BigDecimal>get("contractValue")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("status"));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .<ContractStatusSummary>map(row -> new StatusSummary(
+                        row.get(0, Contract.ContractStatus.class),
+                        row.get(1, Long.class),
+                        row.get(2, BigDecimal.class)))
+                .toList();
+    }
+
+    @Override
+    public Page<ContractListItem> findListItems(Specification<Contract> spec, Pageable pageable) {
+        TypedQuery<ContractListItem> query = listItemQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ContractListItem> findAllListItems(Specification<Contract> spec, Sort sort) {
+        return listItemQuery(spec, sort).getResultList();
+    }
+
+    private TypedQuery<ContractListItem> listItemQuery(Specification<Contract> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContractListItem> query = cb.createQuery(ContractListItem.class);
+        Root<Contract> root = query.from(Contract.class);
+
+        Selection<?>[] columns = new Selection<?>[ContractListItem.ATTRIBUTES.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = root.get(ContractListItem.ATTRIBUTES[i]);
+        }
+        query.select(cb.construct(ContractListItem.class, columns));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Contract> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Contract> root = query.from(Contract.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private record StatusSummary(Contract.ContractStatus status, Long count, BigDecimal totalValue)
+            implements ContractStatusSummary {
+
+        @Override
+        public Contract.ContractStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalValue() {
+            return totalValue;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.dto.ContractFilter;
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.entity.Contract;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Wiederverwendbare Filterbedingungen für Verträge
+ *
+ * Nicht gesetzte Filter erzeugen kein Prädikat, damit die Datenbank für die
+ * verbleibenden Bedingungen die passenden idx_contracts_* Indizes wählen kann.
+ */
+public final class ContractSpecifications {
+
+    private ContractSpecifications() {
+    }
+
+    /**
+     * Alle Bedingungen des Berichtsfilters
+     */
+    public static Specification<Contract> matching(ReportFilter filter) {
+        Specification<Contract> spec = attributes(filter);
+        if (filter.getPartnerId() != null) {
+            spec = spec.and(hasPartnerId(filter.getPartnerId()));
+        }
+        if (hasText(filter.getPartnerName())) {
+            spec = spec.and(hasPartnerName(filter.getPartnerName()));
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            spec = spec.and(runningBetween(filter.getFrom(), filter.getTo()));
+        }
+        return spec;
+    }
+
+    /**
+     * Alle Bedingungen des Listenfilters
+     */
+    public static Specification<Contract> matching(ContractFilter filter) {
+        Specification<Contract> spec = Specification.where(null);
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            spec = spec.and(hasStatusIn(filter.getStatus()));
+        }
+        if (hasText(filter.getContractType())) {
+            spec = spec.and(hasContractType(filter.getContractType()));
+        }
+        if (hasText(filter.getDepartment())) {
+            spec = spec.and(inDepartment(filter.getDepartment()));
+        }
+        if (filter.getOwnerUserId() != null) {
+            spec = spec.and(ownedBy(filter.getOwnerUserId()));
+        }
+        if (filter.getPartnerId() != null) {
+            spec = spec.and(hasPartnerId(filter.getPartnerId()));
+        }
+        if (hasText(filter.getPartnerName())) {
+            spec = spec.and(hasPartnerName(filter.getPartnerName()));
+        }
+        if (filter.getStartFrom() != null || filter.getStartTo() != null) {
+            spec = spec.and(startingBetween(filter.getStartFrom(), filter.getStartTo()));
+        }
+        if (filter.getEndFrom() != null || filter.getEndTo() != null) {
+            spec = spec.and(endingBetween(filter.getEndFrom(), filter.getEndTo()));
+        }
+        if (filter.getMinValue() != null || filter.getMaxValue() != null) {
+            spec = spec.and(valueBetween(filter.getMinValue(), filter.getMaxValue()));
+        }
+        return spec;
+    }
+
+    /**
+     * Nur die Vertragsattribute Status, Typ und Abteilung
+     */
+    public static Specification<Contract> attributes(ReportFilter filter) {
+        Specification<Contract> spec = Specification.where(null);
+        if (filter.getStatus() != null) {
+            spec = spec.and(hasStatus(filter.getStatus()));
+        }
+        if (hasText(filter.getContractType())) {
+            spec = spec.and(hasContractType(filter.getContractType()));
+        }
+        if (hasText(filter.getDepartment())) {
+            spec = spec.and(inDepartment(filter.getDepartment()));
+        }
+        return spec;
+    }
+
+    public static Specification<Contract> hasStatus(Contract.ContractStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Contract> hasStatusIn(Collection<Contract.ContractStatus> statuses) {
+        return (root, query, cb) -> statuses.size() == 1
+                ? cb.equal(root.get("status"), statuses.iterator().next())
+                : root.get("status").in(statuses);
+    }
+
+    public static Specification<Contract> hasContractType(String contractType) {
+        return (root, query, cb) -> cb.equal(root.get("contractType"), contractType);
+    }
+
+    public static Specification<Contract> inDepartment(String department) {
+        return (root, query, cb) -> cb.equal(root.get("department"), department);
+    }
+
+    public static Specification<Contract> ownedBy(Long ownerUserId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerUserId"), ownerUserId);
+    }
+
+    public static Specification<Contract> hasPartnerId(Long partnerId) {
+        return (root, query, cb) -> cb.equal(root.get("partnerId"), partnerId);
+    }
+
+    public static Specification<Contract> hasPartnerName(String partnerName) {
+        return (root, query, cb) -> cb.equal(root.get("partnerName"), partnerName);
+    }
+
+    /**
+     * Laufzeit überschneidet sich mit [from, to]; offene Grenzen werden ignoriert
+     */
+    public static Specification<Contract> runningBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.or(cb.isNull(root.get("startDate")), cb.lessThanOrEqualTo(root.<LocalDate>get("startDate"), to));
+            }
+            if (to == null) {
+                return cb.or(cb.isNull(root.get("endDate")), cb.greaterThanOrEqualTo(root.<LocalDate>get("endDate"), from));
+            }
+            return cb.and(
+                    cb.or(cb.isNull(root.get("startDate")), cb.lessThanOrEqualTo(root.<LocalDate>get("startDate"), to)),
+                    cb.or(cb.isNull(root.get("endDate")), cb.greaterThanOrEqualTo(root.<LocalDate>get("endDate"), from)));
+        };
+    }
+
+    /**
+     * Startdatum in [from, to]; eine offene Grenze entfällt
+     */
+    public static Specification<Contract> startingBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> range(cb, root.<LocalDate>get("startDate"), from, to);
+    }
+
+    /**
+     * Enddatum in [from, to]; eine offene Grenze entfällt
+     */
+    public static Specification<Contract> endingBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> range(cb, root.<LocalDate>get("endDate"), from, to);
+    }
+
+    /**
+     * Vertragswert in [min, max]; eine offene Grenze entfällt
+     */
+    public static Specification<Contract> valueBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, cb) -> range(cb, root.<BigDecimal>get("contractValue"), min, max);
+    }
+
+    /**
+     * Freigegebene oder aktive Verträge, deren Enddatum im Zeitraum liegt
+     */
+    public static Specification<Contract> expiringBetween(LocalDate startDate, LocalDate endDate) {
+        return (root, query, cb) -> cb.and(
+                cb.between(root.<LocalDate>get("endDate"), startDate, endDate),
+                root.get("status").in(List.of(Contract.ContractStatus.APPROVED, Contract.ContractStatus.ACTIVE)));
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate range(CriteriaBuilder cb, Expression<? extends Y> path,
+                                                                     Y from, Y to) {
+        if (from == null) {
+            return cb.lessThanOrEqualTo(path, to);
+        }
+        if (to == null) {
+            return cb.greaterThanOrEqualTo(path, from);
+        }
+        return cb.between(path, from, to);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
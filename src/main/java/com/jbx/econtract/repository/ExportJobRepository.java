@@ -0,0 +1,25 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.ExportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository für Export Jobs
+ */
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+
+    /**
+     * Findet Jobs nach Status
+     */
+    List<ExportJob> findByStatusIn(List<ExportJob.JobStatus> statuses);
+
+    /**
+     * Findet abgeschlossene Jobs, deren Ergebnis älter als der Stichtag ist (TTL-Bereinigung)
+     */
+    List<ExportJob> findByStatusInAndCompletedAtBefore(List<ExportJob.JobStatus> statuses, LocalDateTime before);
+}
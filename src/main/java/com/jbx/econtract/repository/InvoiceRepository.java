@@ -3,6 +3,7 @@ package com.jbx.econtract.repository;
 import com.jbx.econtract.model.entity.Invoice;
 import com.jbx.econtract.model.entity.Invoice.InvoiceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,7 +19,13 @@ import java.util.Optional;
  * @version 1.0
  */
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>,
+        JpaSpecificationExecutor<Invoice>, InvoiceRepositoryCustom {
+
+    /**
+     * JDBC fetch size used by the cursor-based stream queries.
+     */
+    int STREAM_FETCH_SIZE = 500;
 
     /**
      * Find invoice by invoice number.
@@ -95,15 +102,6 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
         @Param("endDate") LocalDate endDate
     );
 
-    /**
-     * Get the latest invoice number for a given year.
-     *
-     * @param year the year
-     * @return the latest invoice number
-     */
-    @Query("SELECT i.invoiceNumber FROM Invoice i WHERE YEAR(i.invoiceDate) = :year ORDER BY i.invoiceNumber DESC")
-    List<String> findLatestInvoiceNumberByYear(@Param("year") int year);
-
     /**
      * Find invoices created by a specific user.
      *
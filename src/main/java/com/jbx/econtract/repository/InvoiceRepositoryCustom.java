@@ -0,0 +1,33 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.Invoice;
+import com.jbx.econtract.model.projection.InvoiceStatusSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Additional dynamic-filter queries that Spring Data does not offer as cursor streams.
+ */
+public interface InvoiceRepositoryCustom {
+
+    /**
+     * Stream all matching invoices through a database cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param spec filter conditions
+     * @param sort result order
+     * @return stream of invoices
+     */
+    Stream<Invoice> streamMatching(Specification<Invoice> spec, Sort sort);
+
+    /**
+     * Count invoices and sum gross totals per status for all matching invoices.
+     *
+     * @param spec filter conditions
+     * @return one summary row per status present
+     */
+    List<InvoiceStatusSummary> summarizeByStatusMatching(Specification<Invoice> spec);
+}
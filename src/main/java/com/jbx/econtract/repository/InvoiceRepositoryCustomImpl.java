@@ -0,0 +1,89 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.Invoice;
+import com.jbx.econtract.model.projection.InvoiceStatusSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria implementation of {@link InvoiceRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+class InvoiceRepositoryCustomImpl implements InvoiceRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Invoice> streamMatching(Specification<Invoice> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Invoice> query = cb.createQuery(Invoice.class);
+        Root<Invoice> root = query.from(Invoice.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, InvoiceRepository.STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<InvoiceStatusSummary> summarizeByStatusMatching(Specification<Invoice> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Invoice> root = query.from(Invoice.class);
+
+        query.multiselect(
+                root.get("status"),
+                cb.count(root),
+                cb.sum(root.<BigDecimal>get("totalGross")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("status"));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .<InvoiceStatusSummary>map(row -> new StatusSummary(
+                        row.get(0, Invoice.InvoiceStatus.class),
+                        row.get(1, Long.class),
+                        row.get(2, BigDecimal.class)))
+                .toList();
+    }
+
+    private record StatusSummary(Invoice.InvoiceStatus status, Long count, BigDecimal totalGross)
+            implements InvoiceStatusSummary {
+
+        @Override
+        public Invoice.InvoiceStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalGross() {
+            return totalGross;
+        }
+    }
+}
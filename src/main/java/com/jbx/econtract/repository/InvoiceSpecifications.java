@@ -0,0 +1,64 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.entity.Invoice;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Reusable filter conditions for invoices.
+ *
+ * Contract attributes (status, type, department) are resolved through a subquery on
+ * the contracts table so both sides can use their own indexes.
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    /**
+     * All conditions of a report filter; the date range applies to the invoice date.
+     *
+     * @param filter the report filter
+     * @return combined specification (no predicate for unset fields)
+     */
+    public static Specification<Invoice> matching(ReportFilter filter) {
+        Specification<Invoice> spec = Specification.where(null);
+        if (filter.hasContractCriteria()) {
+            spec = spec.and(contractMatching(ContractSpecifications.attributes(filter)));
+        }
+        if (filter.getPartnerId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("partnerId"), filter.getPartnerId()));
+        }
+        if (filter.getPartnerName() != null && !filter.getPartnerName().isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("partnerName"), filter.getPartnerName()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDate>get("invoiceDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("invoiceDate"), filter.getTo()));
+        }
+        return spec;
+    }
+
+    /**
+     * Invoices whose contract matches the given contract specification.
+     *
+     * @param contractSpec condition on the contract
+     * @return specification using {@code contract_id IN (SELECT id FROM contracts ...)}
+     */
+    public static Specification<Invoice> contractMatching(Specification<Contract> contractSpec) {
+        return (root, query, cb) -> {
+            Subquery<Long> contractIds = query.subquery(Long.class);
+            Root<Contract> contract = contractIds.from(Contract.class);
+            contractIds.select(contract.<Long>get("id"))
+                    .where(contractSpec.toPredicate(contract, query, cb));
+            return root.get("contractId").in(contractIds);
+        };
+    }
+}
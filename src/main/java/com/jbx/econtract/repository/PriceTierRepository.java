@@ -1,8 +1,11 @@
 package com.jbx.econtract.repository;
 
 import com.jbx.econtract.model.entity.PriceTier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,6 +28,7 @@ public interface PriceTierRepository extends JpaRepository<PriceTier, Long> {
      * @param contractPriceId the contract price ID
      * @return list of price tiers
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PriceTier> findByContractPriceId(Long contractPriceId);
 
     /**
@@ -34,6 +38,7 @@ public interface PriceTierRepository extends JpaRepository<PriceTier, Long> {
      * @param quantity the quantity
      * @return optional price tier
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT pt FROM PriceTier pt WHERE pt.contractPriceId = :contractPriceId " +
            "AND pt.minQuantity <= :quantity " +
            "AND (pt.maxQuantity IS NULL OR pt.maxQuantity >= :quantity) " +
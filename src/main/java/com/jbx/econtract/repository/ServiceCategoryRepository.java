@@ -1,7 +1,10 @@
 package com.jbx.econtract.repository;
 
 import com.jbx.econtract.model.entity.ServiceCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,6 +25,7 @@ public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory
      * @param code the category code
      * @return optional service category
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServiceCategory> findByCode(String code);
 
     /**
@@ -30,6 +34,7 @@ public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory
      * @param isActive the active status
      * @return list of active service categories
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ServiceCategory> findByIsActive(Boolean isActive);
 
     /**
@@ -3,6 +3,7 @@ package com.jbx.econtract.repository;
 import com.jbx.econtract.model.entity.ServiceRecord;
 import com.jbx.econtract.model.entity.ServiceRecord.ServiceRecordStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,7 +18,8 @@ import java.util.List;
  * @version 1.0
  */
 @Repository
-public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Long> {
+public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Long>,
+        JpaSpecificationExecutor<ServiceRecord> {
 
     /**
      * Find all service records by contract ID.
@@ -0,0 +1,310 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbx.econtract.model.dto.BulkItemResult;
+import com.jbx.econtract.model.dto.BulkResult;
+import com.jbx.econtract.model.dto.ContractDTO;
+import com.jbx.econtract.model.dto.ContractStatusChange;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.repository.ContractRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service für Massenanlage und -änderung von Verträgen (ERP-Abgleich)
+ *
+ * Die Einträge werden in Blöcken von chunkSize je eigener Transaktion geschrieben; Inserts und Updates
+ * eines Blocks gehen als JDBC-Batches an die Datenbank. Scheitert ein Block beim Schreiben, wird er
+ * eintragsweise wiederholt, damit nur die fehlerhaften Einträge als Fehler zurückgemeldet werden.
+ */
+@Service
+@Slf4j
+public class ContractBulkService {
+
+    private final ContractRepository contractRepository;
+    private final ContractService contractService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.contracts.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.contracts.bulk.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    @Value("${app.contracts.bulk.max-items:20000}")
+    private int maxItems;
+
+    public ContractBulkService(ContractRepository contractRepository, ContractService contractService,
+                               ObjectMapper objectMapper, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.contractRepository = contractRepository;
+        this.contractService = contractService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schreibt einen Block in der laufenden Transaktion und liefert je Eintrag ein Ergebnis
+     */
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<BulkItemResult> write(int offset, List<T> chunk);
+    }
+
+    /**
+     * Liest die Einträge als JSON-Array oder NDJSON (ein Objekt je Zeile)
+     *
+     * @throws IllegalArgumentException bei ungültigem JSON oder mehr als maxItems Einträgen
+     */
+    public <T> List<T> read(InputStream body, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        // readValues iteriert die Elemente eines Root-Arrays ebenso wie aufeinanderfolgende Objekte
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == maxItems) {
+                    throw new IllegalArgumentException("Maximal " + maxItems + " Einträge je Anfrage");
+                }
+                items.add(iterator.nextValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Ungültiger Inhalt: " + e.getOriginalMessage());
+        }
+        return items;
+    }
+
+    /**
+     * Legt Verträge an (Status DRAFT, neue Vertragsnummern)
+     */
+    public BulkResult createAll(List<ContractDTO> items) {
+        return process(items, ContractBulkService::itemId, this::createChunk);
+    }
+
+    /**
+     * Aktualisiert Verträge, die id steht im jeweiligen Eintrag. Ist version gesetzt, scheitert der
+     * Eintrag, wenn der Vertrag inzwischen geändert wurde.
+     */
+    public BulkResult updateAll(List<ContractDTO> items) {
+        return process(items, ContractBulkService::itemId, this::updateChunk);
+    }
+
+    /**
+     * Setzt den Status von Verträgen
+     */
+    public BulkResult changeStatusAll(List<ContractStatusChange> items) {
+        return process(items, ContractBulkService::itemId, this::statusChunk);
+    }
+
+    /**
+     * @param itemId ID eines Eintrags für die Fehlermeldung, wenn er auch einzeln nicht geschrieben werden kann
+     */
+    private <T> BulkResult process(List<T> items, Function<T, Long> itemId, ChunkWriter<T> writer) {
+        long start = System.currentTimeMillis();
+        int size = Math.max(1, chunkSize);
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+
+        for (int offset = 0; offset < items.size(); offset += size) {
+            List<T> chunk = items.subList(offset, Math.min(offset + size, items.size()));
+            results.addAll(writeChunk(writer, itemId, offset, chunk));
+        }
+
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        log.info("Bulk write of {} contracts: {} succeeded, {} failed in {} ms",
+                items.size(), succeeded, items.size() - succeeded, System.currentTimeMillis() - start);
+        return new BulkResult(items.size(), succeeded, items.size() - succeeded, results);
+    }
+
+    private <T> List<BulkItemResult> writeChunk(ChunkWriter<T> writer, Function<T, Long> itemId, int offset, List<T> chunk) {
+        try {
+            return inTransaction(() -> writer.write(offset, chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                return List.of(BulkItemResult.failed(offset, itemId.apply(chunk.get(0)), rootMessage(e)));
+            }
+            log.warn("Bulk chunk at {} failed, retrying item by item: {}", offset, rootMessage(e));
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.addAll(writeChunk(writer, itemId, offset + i, chunk.subList(i, i + 1)));
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> inTransaction(Supplier<List<BulkItemResult>> work) {
+        return transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(jdbcBatchSize);
+            // Massenänderungen lesen aus dem Second-Level-Cache, legen aber keine neuen Einträge an
+            session.setCacheMode(CacheMode.GET);
+            List<BulkItemResult> results = work.get();
+            // Constraint-Verletzungen noch innerhalb des Blocks auslösen
+            entityManager.flush();
+            return results;
+        });
+    }
+
+    private List<BulkItemResult> createChunk(int offset, List<ContractDTO> chunk) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Contract> contracts = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ContractDTO dto = chunk.get(i);
+            String error = validate(dto, true);
+            if (error != null) {
+                results.add(BulkItemResult.failed(offset + i, itemId(dto), error));
+                continue;
+            }
+            Contract contract = contractService.newContract(dto);
+            contracts.add(contract);
+            results.add(new BulkItemResult(offset + i, true, null, contract.getContractNumber(), null));
+        }
+
+        contractRepository.saveAll(contracts);
+
+        // Mit Sequenz-IDs sind die IDs schon vor dem Flush vergeben
+        int next = 0;
+        for (BulkItemResult result : results) {
+            if (result.isSuccess()) {
+                result.setId(contracts.get(next++).getId());
+            }
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(int offset, List<ContractDTO> chunk) {
+        Map<Long, Contract> contracts = load(chunk.stream().map(ContractDTO::getId).toList());
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ContractDTO dto = chunk.get(i);
+            Contract contract = dto.getId() != null ? contracts.get(dto.getId()) : null;
+            String error = dto.getId() == null ? "id is required"
+                    : contract == null ? "Contract not found with ID: " + dto.getId()
+                    : staleVersion(contract, dto.getVersion());
+            if (error == null) {
+                error = validate(dto, false);
+            }
+            if (error != null) {
+                results.add(BulkItemResult.failed(offset + i, dto.getId(), error));
+                continue;
+            }
+            ContractService.applyChanges(contract, dto);
+            results.add(new BulkItemResult(offset + i, true, contract.getId(), contract.getContractNumber(), null));
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> statusChunk(int offset, List<ContractStatusChange> chunk) {
+        Map<Long, Contract> contracts = load(chunk.stream().map(ContractStatusChange::getId).toList());
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ContractStatusChange change = chunk.get(i);
+            Contract contract = change.getId() != null ? contracts.get(change.getId()) : null;
+            Contract.ContractStatus status = parseStatus(change.getStatus());
+            String error = change.getId() == null ? "id is required"
+                    : contract == null ? "Contract not found with ID: " + change.getId()
+                    : status == null ? "Invalid status: " + change.getStatus()
+                    : staleVersion(contract, change.getVersion());
+            if (error != null) {
+                results.add(BulkItemResult.failed(offset + i, change.getId(), error));
+                continue;
+            }
+            contract.setStatus(status);
+            results.add(new BulkItemResult(offset + i, true, contract.getId(), contract.getContractNumber(), null));
+        }
+        return results;
+    }
+
+    /**
+     * Lädt alle Verträge eines Blocks mit einer Abfrage
+     */
+    private Map<Long, Contract> load(List<Long> ids) {
+        List<Long> existing = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return contractRepository.findAllById(existing).stream()
+                .collect(Collectors.toMap(Contract::getId, Function.identity()));
+    }
+
+    /**
+     * Fehlermeldung, wenn der Eintrag auf einer älteren Version beruht (null = keine Prüfung bzw. aktuell)
+     */
+    private static String staleVersion(Contract contract, Long expectedVersion) {
+        if (expectedVersion == null || expectedVersion.equals(contract.getVersion())) {
+            return null;
+        }
+        return "Contract " + contract.getId() + " was modified, current version: " + contract.getVersion();
+    }
+
+    private static Long itemId(ContractDTO dto) {
+        return dto != null ? dto.getId() : null;
+    }
+
+    private static Long itemId(ContractStatusChange change) {
+        return change != null ? change.getId() : null;
+    }
+
+    private static String validate(ContractDTO dto, boolean create) {
+        if (dto == null) {
+            return "Entry is empty";
+        }
+        if (isBlank(dto.getTitle())) {
+            return "title is required";
+        }
+        if (isBlank(dto.getContractType())) {
+            return "contractType is required";
+        }
+        if (isBlank(dto.getPartnerName())) {
+            return "partnerName is required";
+        }
+        if (create && dto.getOwnerUserId() == null) {
+            return "ownerUserId is required";
+        }
+        if (create && dto.getCreatedBy() == null) {
+            return "createdBy is required";
+        }
+        if (dto.getStartDate() != null && dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            return "endDate is before startDate";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static Contract.ContractStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return Contract.ContractStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return String.valueOf(root.getMessage());
+    }
+}
@@ -0,0 +1,408 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import com.jbx.econtract.model.projection.ContractCubeCell;
+import com.jbx.econtract.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service für den Portfolio-Würfel im Speicher
+ *
+ * Hält Anzahl und Vertragswert (in Cent) je Status × Vertragstyp × Abteilung × Anlagemonat in
+ * dichten long-Arrays. Wird beim Start und nächtlich aus der Datenbank aufgebaut und dazwischen über
+ * {@link com.jbx.econtract.model.listener.ContractCounterListener} fortgeschrieben. Slice/Dice-Abfragen
+ * laufen ausschließlich über die Arrays, ohne SQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContractCubeService {
+
+    /**
+     * Dimensionen des Würfels
+     */
+    public enum Dimension {
+        STATUS,
+        TYPE,
+        DEPARTMENT,
+        MONTH
+    }
+
+    /**
+     * Dimensionswert für fehlenden Typ bzw. fehlende Abteilung
+     */
+    public static final String NO_VALUE = "-";
+
+    /**
+     * Obergrenze für die Zellenzahl (je Zelle 16 Byte)
+     */
+    private static final long MAX_CELLS = 4_000_000;
+
+    private static final Contract.ContractStatus[] STATUSES = Contract.ContractStatus.values();
+
+    private final ContractRepository contractRepository;
+    private final DataVersionService dataVersionService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Cube cube = new Cube();
+    private volatile LocalDateTime builtAt;
+
+    /**
+     * Baut den Würfel aus einer GROUP BY Abfrage neu auf (nach dem Start und nächtlich).
+     * Änderungen, die während der Abfrage committen, können bis zum nächsten Aufbau fehlen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.dashboard.cube.rebuild-cron:0 15 3 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        List<ContractCubeCell> cells = contractRepository.summarizeCubeCells();
+        Cube fresh = new Cube();
+        YearMonth now = YearMonth.now();
+        try {
+            for (ContractCubeCell cell : cells) {
+                int month = cell.getYear() != null && cell.getMonth() != null
+                        ? epochMonth(cell.getYear(), cell.getMonth()) : epochMonth(now.getYear(), now.getMonthValue());
+                fresh.add(cell.getStatus(), cell.getContractType(), cell.getDepartment(), month,
+                        cell.getCount(), toCents(cell.getTotalValue()));
+            }
+        } catch (IllegalStateException e) {
+            log.error("Portfolio cube not rebuilt, keeping previous state: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            cube = fresh;
+            builtAt = LocalDateTime.now();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dataVersionService.markDerivedChanged();
+        log.info("Portfolio cube rebuilt from {} groups ({} cells) in {} ms",
+                cells.size(), fresh.counts.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Meldet eine Zustandsänderung (null = angelegt bzw. gelöscht). Innerhalb einer Transaktion
+     * wird erst nach dem Commit fortgeschrieben, damit Rollbacks den Würfel nicht verfälschen.
+     */
+    public void onChange(CountedState previous, CountedState current) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(previous, current);
+                }
+            });
+        } else {
+            apply(previous, current);
+        }
+    }
+
+    private void apply(CountedState previous, CountedState current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                cube.add(previous.status(), previous.contractType(), previous.department(),
+                        epochMonth(previous.month().getYear(), previous.month().getMonthValue()), -1, -previous.valueCents());
+            }
+            if (current != null) {
+                cube.add(current.status(), current.contractType(), current.department(),
+                        epochMonth(current.month().getYear(), current.month().getMonthValue()), 1, current.valueCents());
+            }
+        } catch (IllegalStateException e) {
+            // Würfel bleibt bis zum nächsten Aufbau ohne diese Änderung
+            log.warn("Portfolio cube not updated: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Slice/Dice-Abfrage: filtert je Dimension (null oder leer = alle Werte) und gruppiert nach den
+     * angegebenen Dimensionen (leer = eine Gesamtzeile).
+     */
+    public Map<String, Object> slice(Collection<Dimension> groupBy, Collection<Contract.ContractStatus> statuses,
+                                     Collection<String> types, Collection<String> departments,
+                                     YearMonth from, YearMonth to) {
+        boolean byStatus = groupBy.contains(Dimension.STATUS);
+        boolean byType = groupBy.contains(Dimension.TYPE);
+        boolean byDepartment = groupBy.contains(Dimension.DEPARTMENT);
+        boolean byMonth = groupBy.contains(Dimension.MONTH);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long totalCount = 0;
+        long totalCents = 0;
+
+        lock.readLock().lock();
+        try {
+            Cube c = cube;
+            int[] statusSel = selectStatuses(statuses);
+            int[] typeSel = c.select(types, c.types, c.typeIndex);
+            int[] departmentSel = c.select(departments, c.departments, c.departmentIndex);
+            int monthFrom = from == null ? 0 : Math.max(0, epochMonth(from.getYear(), from.getMonthValue()) - c.firstMonth);
+            int monthTo = to == null ? c.monthCapacity - 1
+                    : Math.min(c.monthCapacity - 1, epochMonth(to.getYear(), to.getMonthValue()) - c.firstMonth);
+
+            // Gruppenschlüssel in derselben Zellenarithmetik wie der Würfel, nicht gruppierte Dimensionen auf 0
+            Map<Long, long[]> groups = new TreeMap<>();
+            for (int s : statusSel) {
+                for (int t : typeSel) {
+                    for (int d : departmentSel) {
+                        int base = c.offset(s, t, d, 0);
+                        for (int m = monthFrom; m <= monthTo; m++) {
+                            long count = c.counts[base + m];
+                            long cents = c.valueCents[base + m];
+                            if (count == 0 && cents == 0) {
+                                continue;
+                            }
+                            long key = c.offset(byStatus ? s : 0, byType ? t : 0, byDepartment ? d : 0, byMonth ? m : 0);
+                            long[] sums = groups.computeIfAbsent(key, k -> new long[2]);
+                            sums[0] += count;
+                            sums[1] += cents;
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<Long, long[]> group : groups.entrySet()) {
+                long key = group.getKey();
+                int m = (int) (key % c.monthCapacity);
+                key /= c.monthCapacity;
+                int d = (int) (key % c.departmentCapacity);
+                key /= c.departmentCapacity;
+                int t = (int) (key % c.typeCapacity);
+                int s = (int) (key / c.typeCapacity);
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                if (byStatus) {
+                    row.put("status", STATUSES[s]);
+                }
+                if (byType) {
+                    row.put("contractType", c.types.get(t));
+                }
+                if (byDepartment) {
+                    row.put("department", c.departments.get(d));
+                }
+                if (byMonth) {
+                    row.put("month", toYearMonth(c.firstMonth + m).toString());
+                }
+                row.put("count", group.getValue()[0]);
+                row.put("value", BigDecimal.valueOf(group.getValue()[1], 2));
+                rows.add(row);
+
+                totalCount += group.getValue()[0];
+                totalCents += group.getValue()[1];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("group_by", groupBy);
+        result.put("rows", rows);
+        result.put("total_count", totalCount);
+        result.put("total_value", BigDecimal.valueOf(totalCents, 2));
+        result.put("built_at", builtAt);
+        return result;
+    }
+
+    /**
+     * Vorhandene Werte je Dimension (für Filter-Auswahllisten)
+     */
+    public Map<String, Object> getDimensions() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("statuses", List.of(STATUSES));
+            result.put("types", cube.types.stream().sorted().toList());
+            result.put("departments", cube.departments.stream().sorted().toList());
+            result.put("first_month", cube.minMonth <= cube.maxMonth ? toYearMonth(cube.minMonth).toString() : null);
+            result.put("last_month", cube.minMonth <= cube.maxMonth ? toYearMonth(cube.maxMonth).toString() : null);
+            result.put("built_at", builtAt);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isBuilt() {
+        return builtAt != null;
+    }
+
+    private static int[] selectStatuses(Collection<Contract.ContractStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            int[] all = new int[STATUSES.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        return statuses.stream().distinct().mapToInt(Enum::ordinal).toArray();
+    }
+
+    private static int epochMonth(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static YearMonth toYearMonth(int epochMonth) {
+        return YearMonth.of(epochMonth / 12, epochMonth % 12 + 1);
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value != null ? value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    /**
+     * Zellen des Würfels, Zugriff nur unter dem Lock des Service
+     *
+     * Zelle (Status, Typ, Abteilung, Monat) liegt bei ((s * typeCapacity + t) * departmentCapacity + d) * monthCapacity + m.
+     * Typen und Abteilungen werden beim ersten Auftreten nummeriert; reicht die Kapazität einer Dimension
+     * nicht, werden die Arrays mit doppelter Kapazität neu angelegt.
+     */
+    private static final class Cube {
+
+        final List<String> types = new ArrayList<>();
+        final Map<String, Integer> typeIndex = new HashMap<>();
+        final List<String> departments = new ArrayList<>();
+        final Map<String, Integer> departmentIndex = new HashMap<>();
+
+        int typeCapacity = 8;
+        int departmentCapacity = 8;
+        int firstMonth;
+        int monthCapacity;
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+
+        long[] counts = new long[0];
+        long[] valueCents = new long[0];
+
+        int offset(int status, int type, int department, int month) {
+            return ((status * typeCapacity + type) * departmentCapacity + department) * monthCapacity + month;
+        }
+
+        void add(Contract.ContractStatus status, String type, String department, int epochMonth, long count, long cents) {
+            if (status == null) {
+                return;
+            }
+            String typeKey = type != null ? type : NO_VALUE;
+            String departmentKey = department != null ? department : NO_VALUE;
+            Integer t = typeIndex.get(typeKey);
+            Integer d = departmentIndex.get(departmentKey);
+
+            // Erst vergrößern, dann neue Werte nummerieren: scheitert die Vergrößerung, bleibt der Würfel unverändert
+            ensureCapacity(types.size() + (t == null ? 1 : 0), departments.size() + (d == null ? 1 : 0), epochMonth);
+            if (t == null) {
+                t = register(typeKey, types, typeIndex);
+            }
+            if (d == null) {
+                d = register(departmentKey, departments, departmentIndex);
+            }
+
+            int cell = offset(status.ordinal(), t, d, epochMonth - firstMonth);
+            counts[cell] += count;
+            valueCents[cell] += cents;
+            minMonth = Math.min(minMonth, epochMonth);
+            maxMonth = Math.max(maxMonth, epochMonth);
+        }
+
+        int[] select(Collection<String> values, List<String> members, Map<String, Integer> index) {
+            if (values == null || values.isEmpty()) {
+                int[] all = new int[members.size()];
+                for (int i = 0; i < all.length; i++) {
+                    all[i] = i;
+                }
+                return all;
+            }
+            return values.stream().distinct().map(index::get).filter(Objects::nonNull).mapToInt(Integer::intValue).toArray();
+        }
+
+        private static int register(String key, List<String> members, Map<String, Integer> index) {
+            int i = members.size();
+            members.add(key);
+            index.put(key, i);
+            return i;
+        }
+
+        private void ensureCapacity(int typeCount, int departmentCount, int epochMonth) {
+            int newTypeCapacity = typeCapacity;
+            while (typeCount > newTypeCapacity) {
+                newTypeCapacity *= 2;
+            }
+            int newDepartmentCapacity = departmentCapacity;
+            while (departmentCount > newDepartmentCapacity) {
+                newDepartmentCapacity *= 2;
+            }
+
+            int newFirstMonth = firstMonth;
+            int newMonthCapacity = monthCapacity;
+            if (monthCapacity == 0) {
+                newFirstMonth = epochMonth;
+                newMonthCapacity = 12;
+            } else if (epochMonth < firstMonth) {
+                newFirstMonth = Math.min(epochMonth, firstMonth - monthCapacity);
+                newMonthCapacity = firstMonth + monthCapacity - newFirstMonth;
+            } else if (epochMonth >= firstMonth + monthCapacity) {
+                newMonthCapacity = Math.max(epochMonth - firstMonth + 1, monthCapacity * 2);
+            }
+
+            if (newTypeCapacity != typeCapacity || newDepartmentCapacity != departmentCapacity
+                    || newFirstMonth != firstMonth || newMonthCapacity != monthCapacity) {
+                resize(newTypeCapacity, newDepartmentCapacity, newFirstMonth, newMonthCapacity);
+            }
+        }
+
+        private void resize(int newTypeCapacity, int newDepartmentCapacity, int newFirstMonth, int newMonthCapacity) {
+            long cells = (long) STATUSES.length * newTypeCapacity * newDepartmentCapacity * newMonthCapacity;
+            if (cells > MAX_CELLS) {
+                throw new IllegalStateException("Portfolio-Würfel überschreitet " + MAX_CELLS + " Zellen");
+            }
+
+            long[] newCounts = new long[(int) cells];
+            long[] newValueCents = new long[(int) cells];
+            int shift = firstMonth - newFirstMonth;
+            for (int s = 0; s < STATUSES.length; s++) {
+                for (int t = 0; t < typeCapacity; t++) {
+                    for (int d = 0; d < departmentCapacity; d++) {
+                        int from = offset(s, t, d, 0);
+                        int to = ((s * newTypeCapacity + t) * newDepartmentCapacity + d) * newMonthCapacity + shift;
+                        System.arraycopy(counts, from, newCounts, to, monthCapacity);
+                        System.arraycopy(valueCents, from, newValueCents, to, monthCapacity);
+                    }
+                }
+            }
+
+            counts = newCounts;
+            valueCents = newValueCents;
+            typeCapacity = newTypeCapacity;
+            departmentCapacity = newDepartmentCapacity;
+            firstMonth = newFirstMonth;
+            monthCapacity = newMonthCapacity;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.jbx.econtract.service;
 
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.ContractImportQueue;
 import com.jbx.econtract.model.entity.ImportBatch;
 import com.jbx.econtract.repository.ContractImportQueueRepository;
 import com.jbx.econtract.repository.ImportBatchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -18,7 +20,9 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +33,7 @@ public class ContractImportService {
     private final ImportBatchRepository batchRepository;
     private final AIContractService aiService;
     private final DocumentParserService documentParser;
+    private final KeysetPaginationService keysetPaginationService;
     
     private static final String UPLOAD_DIR = "/home/ubuntu/econtract-uploads/";
     
@@ -345,6 +350,19 @@ public class ContractImportService {
         }
     }
     
+    /**
+     * Import-Historie seitenweise per Keyset-Pagination (neueste zuerst)
+     */
+    public CursorPage<ContractImportQueue> scrollImportHistory(String cursor, int size) {
+        Set<ContractImportQueue.ImportStatus> finished = Set.of(
+            ContractImportQueue.ImportStatus.COMPLETED,
+            ContractImportQueue.ImportStatus.APPROVED,
+            ContractImportQueue.ImportStatus.REJECTED);
+        return keysetPaginationService.scroll(queueRepository, ContractImportQueue.class,
+            (root, query, cb) -> root.get("status").in(finished), cursor, size,
+            "createdAt", Sort.Direction.DESC, Set.of("createdAt"), Function.identity());
+    }
+    
     /**
      * Import-Historie abrufen
      */
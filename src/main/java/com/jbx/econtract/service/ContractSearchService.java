@@ -0,0 +1,372 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.entity.ContractImportQueue;
+import com.jbx.econtract.model.entity.ContractUpload;
+import com.jbx.econtract.repository.ContractImportQueueRepository;
+import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.repository.ContractUploadRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service für die Volltextsuche über Solr
+ *
+ * Geänderte Verträge werden nach dem Commit vorgemerkt und von einem Hintergrund-Thread gesammelt
+ * mit commitWithin an Solr übertragen (Stammdaten plus Text der zugehörigen Dokumente). Schlägt die
+ * Übertragung fehl, werden die Verträge erneut vorgemerkt und mit wachsendem Abstand wiederholt. Der Text
+ * einer Datei wird nur einmal extrahiert und bis zur nächsten Dateiänderung zwischengespeichert, so lesen
+ * reine Stamm- oder Statusänderungen die Dokumente nicht erneut. Die Felder
+ * nutzen die dynamischen Felder des _default Configsets, ein eigenes Schema ist nicht nötig.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContractSearchService {
+
+    private static final int REINDEX_BATCH_SIZE = 200;
+
+    private static final String QUERY_FIELDS =
+            "contract_number_s^10 title_txt_de^4 partner_name_txt_de^3 contract_type_s department_s document_txt_de";
+
+    private final SolrClient solrClient;
+    private final ContractRepository contractRepository;
+    private final ContractUploadRepository contractUploadRepository;
+    private final ContractImportQueueRepository contractImportQueueRepository;
+    private final DocumentParserService documentParserService;
+
+    @Value("${solr.enabled:false}")
+    private boolean enabled;
+
+    @Value("${solr.core:econtract}")
+    private String core;
+
+    @Value("${solr.commit-within-ms:1000}")
+    private int commitWithinMs;
+
+    @Value("${solr.max-document-chars:200000}")
+    private int maxDocumentChars;
+
+    @Value("${solr.document-cache-chars:20000000}")
+    private long documentCacheChars;
+
+    @Value("${solr.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${solr.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    /**
+     * Vorgemerkte Vertrags-IDs; nicht mehr vorhandene Verträge werden beim Übertragen gelöscht
+     */
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private ScheduledExecutorService indexer;
+
+    /**
+     * Aufeinanderfolgende fehlgeschlagene Übertragungen, nur vom Indexer-Thread verwendet
+     */
+    private int failures;
+
+    /**
+     * Extrahierte Dokumenttexte je Dateipfad in LRU-Reihenfolge, zusammen höchstens documentCacheChars
+     */
+    private final Map<String, DocumentText> documentTexts = new LinkedHashMap<>(16, 0.75f, true);
+    private long documentTextChars;
+
+    /**
+     * Extrahierter Text und Änderungszeitpunkt der Datei beim Extrahieren
+     */
+    private record DocumentText(long modified, String text) {
+    }
+
+    @PostConstruct
+    public void init() {
+        indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "solr-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Merkt einen geänderten oder gelöschten Vertrag zur Übertragung vor. Innerhalb einer Transaktion
+     * erst nach dem Commit, damit der Indexer den committeten Stand liest.
+     */
+    public void markChanged(Long contractId) {
+        if (!enabled || contractId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(contractId);
+                }
+            });
+        } else {
+            enqueue(contractId);
+        }
+    }
+
+    private void enqueue(Long contractId) {
+        pending.add(contractId);
+        if (scheduled.compareAndSet(false, true)) {
+            indexer.submit(this::drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        Set<Long> ids = new HashSet<>(pending);
+        pending.removeAll(ids);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<Long> removed = new HashSet<>(ids);
+            List<Contract> contracts = contractRepository.findAllById(ids);
+            List<SolrInputDocument> documents = new ArrayList<>();
+            Date indexedAt = new Date();
+            for (Contract contract : contracts) {
+                documents.add(toDocument(contract, indexedAt));
+                removed.remove(contract.getId());
+            }
+            if (!documents.isEmpty()) {
+                solrClient.add(core, documents, commitWithinMs);
+            }
+            if (!removed.isEmpty()) {
+                solrClient.deleteById(core, removed.stream().map(String::valueOf).toList(), commitWithinMs);
+            }
+            failures = 0;
+            log.debug("Solr index updated: {} contracts, {} removed", documents.size(), removed.size());
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            retryLater(ids, e);
+        }
+    }
+
+    /**
+     * Merkt die Verträge erneut vor und wiederholt die Übertragung nach retryBackoffMs, danach
+     * jeweils doppelt so spät (höchstens maxRetryBackoffMs), bis sie wieder gelingt
+     */
+    private void retryLater(Set<Long> ids, Exception e) {
+        failures++;
+        long delay = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(failures - 1, 20));
+        log.warn("Solr index update failed for {} contracts, retrying in {} ms: {}", ids.size(), delay, e.getMessage());
+        pending.addAll(ids);
+        // Neue Änderungen lösen bis dahin keinen eigenen Lauf aus
+        scheduled.set(true);
+        try {
+            indexer.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException shutdown) {
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Baut den Index beim Start neu auf, falls er leer ist
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndex() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            SolrQuery query = new SolrQuery("*:*");
+            query.setRows(0);
+            if (solrClient.query(core, query).getResults().getNumFound() == 0) {
+                indexer.submit(this::reindexAll);
+            }
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            log.warn("Solr not reachable at startup, contract search falls back to database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Überträgt alle Verträge neu und entfernt danach Einträge, die dabei nicht mehr geschrieben wurden
+     *
+     * @return Anzahl übertragener Verträge
+     */
+    public long reindexAll() {
+        if (!enabled) {
+            throw new RuntimeException("Solr-Suche ist deaktiviert");
+        }
+
+        long start = System.currentTimeMillis();
+        Date indexedAt = new Date(start);
+        long count = 0;
+        try {
+            Pageable pageable = PageRequest.of(0, REINDEX_BATCH_SIZE, Sort.by("id"));
+            Page<Contract> page;
+            do {
+                page = contractRepository.findAllUncached(pageable);
+                List<SolrInputDocument> documents = new ArrayList<>();
+                for (Contract contract : page) {
+                    documents.add(toDocument(contract, indexedAt));
+                }
+                if (!documents.isEmpty()) {
+                    solrClient.add(core, documents);
+                }
+                count += documents.size();
+                pageable = pageable.next();
+            } while (page.hasNext());
+
+            solrClient.deleteByQuery(core, "indexed_at_dt:[* TO " + indexedAt.toInstant() + "}");
+            solrClient.commit(core);
+        } catch (SolrServerException | IOException e) {
+            throw new RuntimeException("Solr-Reindex fehlgeschlagen: " + e.getMessage(), e);
+        }
+
+        log.info("Solr index rebuilt with {} contracts in {} ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    /**
+     * Volltextsuche, liefert Vertrags-IDs in Relevanzreihenfolge
+     *
+     * @throws IllegalStateException wenn Solr nicht erreichbar ist oder die Anfrage ablehnt
+     */
+    public Page<Long> searchIds(String keyword, Pageable pageable) {
+        SolrQuery query = new SolrQuery(keyword);
+        query.set("defType", "edismax");
+        query.set("qf", QUERY_FIELDS);
+        query.set("mm", "100%");
+        query.setFields("id");
+        query.setStart((int) pageable.getOffset());
+        query.setRows(pageable.getPageSize());
+
+        try {
+            QueryResponse response = solrClient.query(core, query);
+            SolrDocumentList results = response.getResults();
+            List<Long> ids = new ArrayList<>(results.size());
+            for (SolrDocument document : results) {
+                ids.add(Long.valueOf(String.valueOf(document.getFirstValue("id"))));
+            }
+            return new PageImpl<>(ids, pageable, results.getNumFound());
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            // RuntimeException: u.a. RemoteSolrException bei Fehlern des Solr-Servers
+            throw new IllegalStateException("Solr-Suche fehlgeschlagen: " + e.getMessage(), e);
+        }
+    }
+
+    private SolrInputDocument toDocument(Contract contract, Date indexedAt) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", String.valueOf(contract.getId()));
+        addField(document, "contract_number_s", contract.getContractNumber());
+        addField(document, "title_txt_de", contract.getTitle());
+        addField(document, "partner_name_txt_de", contract.getPartnerName());
+        addField(document, "contract_type_s", contract.getContractType());
+        addField(document, "department_s", contract.getDepartment());
+        addField(document, "status_s", contract.getStatus() != null ? contract.getStatus().name() : null);
+        addField(document, "document_txt_de", documentText(contract.getId()));
+        document.addField("indexed_at_dt", indexedAt);
+        return document;
+    }
+
+    private static void addField(SolrInputDocument document, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            document.addField(name, value);
+        }
+    }
+
+    /**
+     * Text aller Dokumente des Vertrags (Uploads und Importe), auf maxDocumentChars gekürzt
+     */
+    private String documentText(Long contractId) {
+        StringBuilder text = new StringBuilder();
+        for (ContractUpload upload : contractUploadRepository.findByContractId(contractId)) {
+            appendText(text, upload.getFilePath(), upload.getMimeType());
+        }
+        for (ContractImportQueue item : contractImportQueueRepository.findByContractId(contractId)) {
+            appendText(text, item.getFilePath(), item.getMimeType());
+        }
+        return text.length() > maxDocumentChars ? text.substring(0, maxDocumentChars) : text.toString();
+    }
+
+    private void appendText(StringBuilder text, String filePath, String mimeType) {
+        if (text.length() >= maxDocumentChars || filePath == null) {
+            return;
+        }
+        try {
+            text.append(extractText(filePath, mimeType)).append('\n');
+        } catch (IOException e) {
+            log.warn("Document {} not indexed: {}", filePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Text einer Datei aus dem Zwischenspeicher; neu extrahiert nur, wenn die Datei fehlt oder sich geändert hat
+     */
+    private String extractText(String filePath, String mimeType) throws IOException {
+        long modified = Files.getLastModifiedTime(Path.of(filePath)).toMillis();
+        synchronized (documentTexts) {
+            DocumentText cached = documentTexts.get(filePath);
+            if (cached != null && cached.modified() == modified) {
+                return cached.text();
+            }
+        }
+
+        String text = documentParserService.extractText(filePath, mimeType);
+        if (text.length() > maxDocumentChars) {
+            text = text.substring(0, maxDocumentChars);
+        }
+        synchronized (documentTexts) {
+            DocumentText previous = documentTexts.put(filePath, new DocumentText(modified, text));
+            documentTextChars += text.length() - (previous != null ? previous.text().length() : 0);
+            Iterator<DocumentText> eldest = documentTexts.values().iterator();
+            while (documentTextChars > documentCacheChars && eldest.hasNext()) {
+                documentTextChars -= eldest.next().text().length();
+                eldest.remove();
+            }
+        }
+        return text;
+    }
+}
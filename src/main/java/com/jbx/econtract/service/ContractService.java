@@ -1,17 +1,29 @@
 package com.jbx.econtract.service;
 
 import com.jbx.econtract.model.dto.ContractDTO;
+import com.jbx.econtract.model.dto.ContractFilter;
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.projection.ContractListItem;
 import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.repository.ContractSpecifications;
+import com.jbx.econtract.service.NumberAllocatorService.NumberSeries;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +35,14 @@ import java.util.stream.Collectors;
 public class ContractService {
 
     private final ContractRepository contractRepository;
+    private final ContractSearchService contractSearchService;
+    private final KeysetPaginationService keysetPaginationService;
+    private final NumberAllocatorService numberAllocatorService;
+
+    /**
+     * Erlaubte Sortierschlüssel für die Keyset-Pagination (NOT NULL Spalten)
+     */
+    public static final Set<String> SCROLL_SORT_KEYS = Set.of("createdAt", "contractNumber", "title", "partnerName");
 
     /**
      * Erstellt einen neuen Vertrag
@@ -31,11 +51,31 @@ public class ContractService {
     public ContractDTO createContract(ContractDTO dto) {
         log.info("Creating new contract: {}", dto.getTitle());
         
+        Contract saved = contractRepository.save(newContract(dto));
+        log.info("Contract created with ID: {}", saved.getId());
+        
+        return ContractDTO.fromEntity(saved);
+    }
+
+    /**
+     * Baut einen neuen Vertrag (Status DRAFT, neue Vertragsnummer) aus dem DTO
+     */
+    public Contract newContract(ContractDTO dto) {
         Contract contract = new Contract();
-        contract.setContractNumber(generateContractNumber());
+        contract.setContractNumber(numberAllocatorService.nextNumber(NumberSeries.CONTRACT));
+        contract.setStatus(Contract.ContractStatus.DRAFT);
+        applyChanges(contract, dto);
+        contract.setOwnerUserId(dto.getOwnerUserId());
+        contract.setCreatedBy(dto.getCreatedBy());
+        return contract;
+    }
+
+    /**
+     * Übernimmt die änderbaren Felder aus dem DTO
+     */
+    public static void applyChanges(Contract contract, ContractDTO dto) {
         contract.setTitle(dto.getTitle());
         contract.setContractType(dto.getContractType());
-        contract.setStatus(Contract.ContractStatus.DRAFT);
         contract.setPartnerName(dto.getPartnerName());
         contract.setPartnerId(dto.getPartnerId());
         contract.setStartDate(dto.getStartDate());
@@ -45,13 +85,6 @@ public class ContractService {
         contract.setContractValue(dto.getContractValue());
         contract.setCurrency(dto.getCurrency());
         contract.setDepartment(dto.getDepartment());
-        contract.setOwnerUserId(dto.getOwnerUserId());
-        contract.setCreatedBy(dto.getCreatedBy());
-        
-        Contract saved = contractRepository.save(contract);
-        log.info("Contract created with ID: {}", saved.getId());
-        
-        return ContractDTO.fromEntity(saved);
     }
 
     /**
@@ -66,14 +99,12 @@ public class ContractService {
     }
 
     /**
-     * Findet alle Verträge ohne Pagination (für Dashboard)
+     * Findet alle Verträge ohne Pagination (für Dashboard), nur Listenspalten
      */
     @Transactional(readOnly = true)
-    public List<ContractDTO> getAllContractsUnpaged() {
+    public List<ContractListItem> getAllContractsUnpaged() {
         log.debug("Fetching all contracts without pagination");
-        return contractRepository.findAll().stream()
-                .map(ContractDTO::fromEntity)
-                .collect(Collectors.toList());
+        return contractRepository.findAllListItems(Specification.where(null), Sort.unsorted());
     }
 
     /**
@@ -86,6 +117,23 @@ public class ContractService {
                 .map(ContractDTO::fromEntity);
     }
 
+    /**
+     * Findet Verträge nach beliebig kombinierten Kriterien (paginiert), nur Listenspalten
+     */
+    @Transactional(readOnly = true)
+    public Page<ContractListItem> findContracts(ContractFilter filter, Pageable pageable) {
+        return contractRepository.findListItems(ContractSpecifications.matching(filter), pageable);
+    }
+
+    /**
+     * Findet Verträge seitenweise per Keyset-Pagination (ohne COUNT, konstante Kosten je Seite)
+     */
+    public CursorPage<ContractDTO> scrollContracts(String cursor, int size, String sortBy, Sort.Direction direction,
+                                                   ContractFilter filter) {
+        return keysetPaginationService.scroll(contractRepository, Contract.class, ContractSpecifications.matching(filter),
+                cursor, size, sortBy, direction, SCROLL_SORT_KEYS, ContractDTO::fromEntity);
+    }
+
     /**
      * Findet Verträge nach Status
      */
@@ -107,27 +155,22 @@ public class ContractService {
 
     /**
      * Aktualisiert einen Vertrag
+     *
+     * @param expectedVersion Version, auf der die Änderung beruht (If-Match), null ohne Prüfung
+     * @throws OptimisticLockingFailureException wenn der Vertrag inzwischen geändert wurde
      */
     @Transactional
-    public ContractDTO updateContract(Long id, ContractDTO dto) {
+    public ContractDTO updateContract(Long id, ContractDTO dto, Long expectedVersion) {
         log.info("Updating contract with ID: {}", id);
         
         Contract contract = contractRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Contract not found with ID: " + id));
+        checkVersion(contract, expectedVersion);
         
-        contract.setTitle(dto.getTitle());
-        contract.setContractType(dto.getContractType());
-        contract.setPartnerName(dto.getPartnerName());
-        contract.setPartnerId(dto.getPartnerId());
-        contract.setStartDate(dto.getStartDate());
-        contract.setEndDate(dto.getEndDate());
-        contract.setNoticePeriodDays(dto.getNoticePeriodDays());
-        contract.setAutoRenewal(dto.getAutoRenewal());
-        contract.setContractValue(dto.getContractValue());
-        contract.setCurrency(dto.getCurrency());
-        contract.setDepartment(dto.getDepartment());
+        applyChanges(contract, dto);
         
-        Contract updated = contractRepository.save(contract);
+        // Flush, damit die Antwort die neue Version enthält
+        Contract updated = contractRepository.saveAndFlush(contract);
         log.info("Contract updated: {}", updated.getId());
         
         return ContractDTO.fromEntity(updated);
@@ -135,19 +178,29 @@ public class ContractService {
 
     /**
      * Löscht einen Vertrag
+     *
+     * @param expectedVersion Version, auf der die Löschung beruht (If-Match), null ohne Prüfung
+     * @throws OptimisticLockingFailureException wenn der Vertrag inzwischen geändert wurde
      */
     @Transactional
-    public void deleteContract(Long id) {
+    public void deleteContract(Long id, Long expectedVersion) {
         log.info("Deleting contract with ID: {}", id);
         
-        if (!contractRepository.existsById(id)) {
-            throw new RuntimeException("Contract not found with ID: " + id);
-        }
+        Contract contract = contractRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found with ID: " + id));
+        checkVersion(contract, expectedVersion);
         
-        contractRepository.deleteById(id);
+        contractRepository.delete(contract);
         log.info("Contract deleted: {}", id);
     }
 
+    private static void checkVersion(Contract contract, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(contract.getVersion())) {
+            throw new OptimisticLockingFailureException("Contract " + contract.getId()
+                    + " was modified, current version: " + contract.getVersion());
+        }
+    }
+
     /**
      * Reicht Vertrag zur Genehmigung ein
      */
@@ -172,24 +225,35 @@ public class ContractService {
     }
 
     /**
-     * Sucht Verträge
+     * Sucht Verträge (Volltext über Solr, sonst LIKE auf den Titel)
+     *
+     * Bewusst ohne umschließende Transaktion: während der Solr-Anfrage wird keine Datenbankverbindung
+     * gehalten, die Repository-Aufrufe laufen jeweils in eigenen Lesetransaktionen.
      */
-    @Transactional(readOnly = true)
     public Page<ContractDTO> searchContracts(String keyword, Pageable pageable) {
         log.debug("Searching contracts with keyword: {}", keyword);
+
+        if (contractSearchService.isEnabled()) {
+            try {
+                Page<Long> ids = contractSearchService.searchIds(keyword, pageable);
+                Map<Long, Contract> contracts = contractRepository.findAllById(ids.getContent()).stream()
+                        .collect(Collectors.toMap(Contract::getId, Function.identity()));
+                // Relevanzreihenfolge aus Solr beibehalten; inzwischen gelöschte Verträge fallen heraus
+                List<ContractDTO> content = ids.getContent().stream()
+                        .map(contracts::get)
+                        .filter(Objects::nonNull)
+                        .map(ContractDTO::fromEntity)
+                        .collect(Collectors.toList());
+                return new PageImpl<>(content, pageable, ids.getTotalElements());
+            } catch (IllegalStateException e) {
+                log.warn("Solr search unavailable, falling back to database: {}", e.getMessage());
+            }
+        }
+
         return contractRepository.searchByTitle(keyword, pageable)
                 .map(ContractDTO::fromEntity);
     }
 
-    /**
-     * Generiert eine neue Vertragsnummer
-     */
-    private String generateContractNumber() {
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        Long count = contractRepository.count() + 1;
-        return String.format("CON-%s-%06d", year, count);
-    }
-
     /**
      * Zählt Verträge nach Status
      */
@@ -0,0 +1,286 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Service für die materialisierten Monatsaggregate (Tabelle contract_monthly_summary)
+ *
+ * Vertragsänderungen werden nach dem Commit im Speicher je Aggregatzeile aufsummiert und periodisch
+ * in einem JDBC-Batch per Upsert geschrieben. Die schreibende Transaktion sperrt so keine Aggregatzeilen,
+ * und die Zeilen werden immer in derselben Reihenfolge (Primärschlüssel) gesperrt, sodass sich parallele
+ * Flushes nicht gegenseitig blockieren können. Trend, Top-Partner und Wertübersicht lesen nur noch
+ * einige hundert voraggregierte Zeilen.
+ */
+@Service
+@Slf4j
+public class ContractSummaryService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataVersionService dataVersionService;
+
+    /** Noch nicht geschriebene Differenzen je Aggregatzeile, Zugriff nur unter pendingLock */
+    private Map<SummaryKey, long[]> pending = new HashMap<>();
+    private final Object pendingLock = new Object();
+
+    /** Serialisiert Flush und Neuaufbau */
+    private final Object writeLock = new Object();
+
+    public ContractSummaryService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  DataVersionService dataVersionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Schlüssel einer Aggregatzeile, sortiert wie der Primärschlüssel von contract_monthly_summary
+     */
+    private record SummaryKey(LocalDate month, String status, String contractType, String partnerName)
+            implements Comparable<SummaryKey> {
+
+        private static final Comparator<SummaryKey> ORDER = Comparator.comparing(SummaryKey::month)
+                .thenComparing(SummaryKey::status)
+                .thenComparing(SummaryKey::contractType)
+                .thenComparing(SummaryKey::partnerName);
+
+        @Override
+        public int compareTo(SummaryKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final String UPSERT =
+            "INSERT INTO contract_monthly_summary (month, status, contract_type, partner_name, contract_count, total_value) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (month, status, contract_type, partner_name) DO UPDATE SET " +
+            "contract_count = contract_monthly_summary.contract_count + EXCLUDED.contract_count, " +
+            "total_value = contract_monthly_summary.total_value + EXCLUDED.total_value";
+
+    private static final String REBUILD =
+            "INSERT INTO contract_monthly_summary (month, status, contract_type, partner_name, contract_count, total_value) " +
+            "SELECT CAST(DATE_TRUNC('month', created_at) AS DATE), CAST(status AS VARCHAR), " +
+            "contract_type, partner_name, COUNT(*), COALESCE(SUM(contract_value), 0) " +
+            "FROM contracts GROUP BY 1, 2, 3, 4";
+
+    /**
+     * Meldet die Änderung eines Vertrags (null = angelegt bzw. gelöscht). Innerhalb einer Transaktion
+     * wird die Differenz erst nach dem Commit vorgemerkt, damit Rollbacks die Aggregate nicht verfälschen.
+     */
+    public void onChange(CountedState previous, CountedState current) {
+        if (previous != null && current != null && sameBucket(previous, current)
+                && previous.valueCents() == current.valueCents()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(previous, current);
+                }
+            });
+        } else {
+            record(previous, current);
+        }
+    }
+
+    private void record(CountedState previous, CountedState current) {
+        synchronized (pendingLock) {
+            if (previous != null) {
+                merge(pending, key(previous), -1, -previous.valueCents());
+            }
+            if (current != null) {
+                merge(pending, key(current), 1, current.valueCents());
+            }
+        }
+    }
+
+    private static SummaryKey key(CountedState state) {
+        if (state.status() == null || state.contractType() == null || state.partnerName() == null) {
+            return null;
+        }
+        return new SummaryKey(state.month(), state.status().name(), state.contractType(), state.partnerName());
+    }
+
+    private static void merge(Map<SummaryKey, long[]> deltas, SummaryKey key, long count, long valueCents) {
+        if (key == null) {
+            return;
+        }
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += count;
+        delta[1] += valueCents;
+    }
+
+    /**
+     * Schreibt die vorgemerkten Differenzen in einem Batch, sortiert nach Primärschlüssel.
+     * Schlägt das Schreiben fehl, bleiben die Differenzen für den nächsten Lauf vorgemerkt.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.summary.flush-interval-ms:2000}")
+    @PreDestroy
+    public void flush() {
+        synchronized (writeLock) {
+            Map<SummaryKey, long[]> deltas;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                deltas = pending;
+                pending = new HashMap<>();
+            }
+
+            List<Object[]> rows = new ArrayList<>(deltas.size());
+            for (Map.Entry<SummaryKey, long[]> entry : new TreeMap<>(deltas).entrySet()) {
+                SummaryKey key = entry.getKey();
+                long[] delta = entry.getValue();
+                if (delta[0] == 0 && delta[1] == 0) {
+                    continue;
+                }
+                rows.add(new Object[]{Date.valueOf(key.month()), key.status(), key.contractType(), key.partnerName(),
+                        delta[0], BigDecimal.valueOf(delta[1], 2)});
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT, rows));
+                dataVersionService.markDerivedChanged();
+                log.debug("Contract summary: {} rows updated", rows.size());
+            } catch (RuntimeException e) {
+                log.warn("Contract summary flush of {} rows failed, retrying on next run: {}", rows.size(), e.getMessage());
+                synchronized (pendingLock) {
+                    deltas.forEach((key, delta) -> merge(pending, key, delta[0], delta[1]));
+                }
+            }
+        }
+    }
+
+    private boolean sameBucket(CountedState a, CountedState b) {
+        return a.status() == b.status()
+                && Objects.equals(a.contractType(), b.contractType())
+                && Objects.equals(a.partnerName(), b.partnerName())
+                && Objects.equals(a.month(), b.month());
+    }
+
+    /**
+     * Baut die Aggregate neu auf (korrigiert Bulk-Updates an den Listenern vorbei)
+     */
+    @Scheduled(cron = "${app.dashboard.summary.rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            Integer rows = transactionTemplate.execute(status -> {
+                // Leser laufen weiter und sehen bis zum Commit den alten Stand
+                jdbcTemplate.execute("LOCK TABLE contract_monthly_summary IN EXCLUSIVE MODE");
+                jdbcTemplate.update("DELETE FROM contract_monthly_summary");
+                // Bis hierher committete Änderungen sind im Neuaufbau enthalten
+                synchronized (pendingLock) {
+                    pending = new HashMap<>();
+                }
+                return jdbcTemplate.update(REBUILD);
+            });
+            dataVersionService.markDerivedChanged();
+            log.info("Contract summary rebuilt: {} rows in {} ms", rows, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Neu angelegte Verträge je Monat (ältester Monat zuerst, fehlende Monate mit 0)
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTrend(int months) {
+        LocalDate from = LocalDate.now().withDayOfMonth(1).minusMonths(months - 1L);
+
+        Map<LocalDate, Object[]> rows = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT month, SUM(contract_count), SUM(total_value) FROM contract_monthly_summary " +
+                "WHERE month >= ? GROUP BY month",
+                rs -> {
+                    rows.put(rs.getDate(1).toLocalDate(), new Object[]{rs.getLong(2), rs.getBigDecimal(3)});
+                },
+                Date.valueOf(from));
+
+        List<Map<String, Object>> trend = new ArrayList<>();
+        for (int i = 0; i < months; i++) {
+            LocalDate month = from.plusMonths(i);
+            Object[] row = rows.get(month);
+
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("month", month.getMonth().toString());
+            entry.put("year", month.getYear());
+            entry.put("count", row != null ? row[0] : 0L);
+            entry.put("value", row != null ? row[1] : BigDecimal.ZERO);
+            trend.add(entry);
+        }
+        return trend;
+    }
+
+    /**
+     * Partner mit dem höchsten Vertragswert
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTopPartners(int limit) {
+        return jdbcTemplate.query(
+                "SELECT partner_name, SUM(contract_count) AS contract_count, SUM(total_value) AS total_value " +
+                "FROM contract_monthly_summary GROUP BY partner_name HAVING SUM(contract_count) > 0 " +
+                "ORDER BY total_value DESC, partner_name LIMIT ?",
+                (rs, rowNum) -> {
+                    Map<String, Object> partner = new HashMap<>();
+                    partner.put("partnerName", rs.getString("partner_name"));
+                    partner.put("contractCount", rs.getLong("contract_count"));
+                    partner.put("totalValue", rs.getBigDecimal("total_value"));
+                    return partner;
+                },
+                limit);
+    }
+
+    /**
+     * Vertragswerte gesamt, aktiv, Entwurf und Durchschnitt
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getValueOverview() {
+        Map<Contract.ContractStatus, BigDecimal> valueByStatus = new EnumMap<>(Contract.ContractStatus.class);
+        long[] totalCount = {0};
+        jdbcTemplate.query(
+                "SELECT status, SUM(contract_count), SUM(total_value) FROM contract_monthly_summary GROUP BY status",
+                rs -> {
+                    totalCount[0] += rs.getLong(2);
+                    valueByStatus.put(Contract.ContractStatus.valueOf(rs.getString(1)), rs.getBigDecimal(3));
+                });
+
+        BigDecimal total = valueByStatus.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, Object> overview = new HashMap<>();
+        overview.put("total_value", total);
+        overview.put("active_value", valueByStatus.getOrDefault(Contract.ContractStatus.ACTIVE, BigDecimal.ZERO));
+        overview.put("draft_value", valueByStatus.getOrDefault(Contract.ContractStatus.DRAFT, BigDecimal.ZERO));
+        overview.put("average_value", totalCount[0] > 0
+                ? total.divide(BigDecimal.valueOf(totalCount[0]), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        return overview;
+    }
+}
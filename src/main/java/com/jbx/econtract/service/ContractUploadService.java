@@ -34,6 +34,7 @@ public class ContractUploadService {
     private final ContractRepository contractRepository;
     private final AIExtractionService aiExtractionService;
     private final InvoiceScheduleService invoiceScheduleService;
+    private final NumberAllocatorService numberAllocatorService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     private static final String UPLOAD_DIR = "/tmp/contract-uploads/";
@@ -220,8 +221,9 @@ public class ContractUploadService {
      * Generate contract number
      */
     private String generateContractNumber() {
-        long count = contractRepository.count();
-        return String.format("VTR-%d-%04d", LocalDate.now().getYear(), count + 1);
+        // Eigenes Präfix, laufende Nummer aus demselben Nummernkreis wie CON-Nummern
+        int year = LocalDate.now().getYear();
+        return String.format("VTR-%d-%04d", year, numberAllocatorService.next(NumberAllocatorService.NumberSeries.CONTRACT, year));
     }
     
     /**
@@ -0,0 +1,200 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import com.jbx.econtract.model.projection.ContractBucketSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Service für Dashboard-Zähler im Speicher
+ *
+ * Zählt Verträge je Status, Typ und Abteilung sowie den Vertragswert je Status (in Cent) mit
+ * LongAdder, damit parallele Schreibzugriffe nicht um einen Lock konkurrieren. Fortgeschrieben
+ * über {@link com.jbx.econtract.model.listener.ContractCounterListener}, regelmäßig gegen die
+ * Datenbank abgeglichen (Bulk-Updates und andere Instanzen umgehen die Listener).
+ *
+ * Fortschreibungen laufen parallel unter dem Lese-Lock, der Abgleich unter dem Schreib-Lock, damit keine
+ * Änderung während des Zurücksetzens verloren geht oder doppelt gezählt wird.
+ */
+@Service
+@Slf4j
+public class DashboardCounterService {
+
+    /**
+     * Schlüssel für Verträge ohne Abteilung (ConcurrentHashMap erlaubt keine null-Schlüssel)
+     */
+    public static final String NO_DEPARTMENT = "-";
+
+    private final LongAdder total = new LongAdder();
+    private final Map<Contract.ContractStatus, LongAdder> byStatus = new EnumMap<>(Contract.ContractStatus.class);
+    private final Map<Contract.ContractStatus, LongAdder> valueCentsByStatus = new EnumMap<>(Contract.ContractStatus.class);
+    private final ConcurrentHashMap<String, LongAdder> byType = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> byDepartment = new ConcurrentHashMap<>();
+
+    /**
+     * Zeitabhängig, daher nicht über Events fortschreibbar; stammt aus dem letzten Abgleich
+     */
+    private volatile long expiringSoon;
+    private volatile LocalDateTime reconciledAt;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final DashboardEventBroadcaster dashboardEventBroadcaster;
+
+    public DashboardCounterService(DashboardEventBroadcaster dashboardEventBroadcaster) {
+        this.dashboardEventBroadcaster = dashboardEventBroadcaster;
+        // EnumMaps werden nur hier befüllt und danach nur gelesen
+        for (Contract.ContractStatus status : Contract.ContractStatus.values()) {
+            byStatus.put(status, new LongAdder());
+            valueCentsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Meldet eine Zustandsänderung (null = angelegt bzw. gelöscht). Innerhalb einer Transaktion
+     * wird erst nach dem Commit gezählt, damit Rollbacks die Zähler nicht verfälschen.
+     */
+    public void onChange(CountedState previous, CountedState current) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(previous, current);
+                }
+            });
+        } else {
+            apply(previous, current);
+        }
+    }
+
+    private void apply(CountedState previous, CountedState current) {
+        lock.readLock().lock();
+        try {
+            // Zähler und Push-Delta gemeinsam, damit ein Snapshot nie nur eines von beiden enthält
+            if (previous != null) {
+                add(previous.status(), previous.contractType(), previous.department(), -1, -previous.valueCents());
+                dashboardEventBroadcaster.recordContractDelta(previous.status(), previous.contractType(), previous.department(), -1);
+            }
+            if (current != null) {
+                add(current.status(), current.contractType(), current.department(), 1, current.valueCents());
+                dashboardEventBroadcaster.recordContractDelta(current.status(), current.contractType(), current.department(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Contract.ContractStatus status, String contractType, String department, long count, long valueCents) {
+        total.add(count);
+        if (status != null) {
+            byStatus.get(status).add(count);
+            valueCentsByStatus.get(status).add(valueCents);
+        }
+        if (contractType != null) {
+            byType.computeIfAbsent(contractType, key -> new LongAdder()).add(count);
+        }
+        byDepartment.computeIfAbsent(department != null ? department : NO_DEPARTMENT, key -> new LongAdder()).add(count);
+    }
+
+    /**
+     * Setzt alle Zähler auf den Datenbankstand. Änderungen, die zwischen Abfrage und Abgleich
+     * committen, können bis zum nächsten Abgleich fehlen.
+     */
+    public void reconcile(List<ContractBucketSummary> buckets, long expiringSoon) {
+        lock.writeLock().lock();
+        try {
+            total.reset();
+            byStatus.values().forEach(LongAdder::reset);
+            valueCentsByStatus.values().forEach(LongAdder::reset);
+            byType.clear();
+            byDepartment.clear();
+
+            for (ContractBucketSummary bucket : buckets) {
+                BigDecimal value = bucket.getTotalValue();
+                long cents = value != null ? value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+                add(bucket.getStatus(), bucket.getContractType(), bucket.getDepartment(), bucket.getCount(), cents);
+            }
+
+            this.expiringSoon = expiringSoon;
+            this.reconciledAt = LocalDateTime.now();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Führt die Aktion aus, während keine Änderung gezählt wird (konsistenter Stand für Snapshots)
+     */
+    public <T> T snapshot(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * true, sobald der erste Abgleich gelaufen ist
+     */
+    public boolean isInitialized() {
+        return reconciledAt != null;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getExpiringSoon() {
+        return expiringSoon;
+    }
+
+    public Map<Contract.ContractStatus, Long> getByStatus() {
+        Map<Contract.ContractStatus, Long> result = new EnumMap<>(Contract.ContractStatus.class);
+        byStatus.forEach((status, adder) -> result.put(status, adder.sum()));
+        return result;
+    }
+
+    public BigDecimal getValue(Contract.ContractStatus status) {
+        return BigDecimal.valueOf(valueCentsByStatus.get(status).sum(), 2);
+    }
+
+    public Map<String, Long> getByType() {
+        return nonZero(byType);
+    }
+
+    public Map<String, Long> getByDepartment() {
+        return nonZero(byDepartment);
+    }
+
+    private Map<String, Long> nonZero(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (sum != 0) {
+                result.put(key, sum);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,347 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.service.DataVersionService.DataDomain;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Verteilt Dashboard-Änderungen per Server-Sent Events an alle verbundenen Browser
+ *
+ * Änderungen werden gesammelt und im festen Takt als ein Delta-Event an alle Clients geschickt
+ * (ein JSON pro Takt, unabhängig von der Anzahl Clients). Jeder Client hat einen begrenzten
+ * Puffer; wer nicht hinterherkommt, wird getrennt und lädt beim Wiederverbinden neu. Hängt ein
+ * Sendevorgang länger als send-timeout-ms (z.B. blockierter Socket), trennt der Takt den Client
+ * und unterbricht den Sende-Thread, damit wenige hängende Clients nicht alle Sender belegen.
+ *
+ * Ein "stats"-Event enthält alle bis dahin gesammelten Änderungen. Diese werden vorher an die
+ * übrigen Clients verschickt bzw. verworfen, damit der nächste Takt sie nicht erneut sendet.
+ * Die Aufrufer erzeugen den Stand dafür unter {@link DashboardCounterService#snapshot}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardEventBroadcaster {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.dashboard.events.max-clients:500}")
+    private int maxClients;
+
+    @Value("${app.dashboard.events.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.dashboard.events.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.dashboard.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.dashboard.events.heartbeat-ticks:15}")
+    private int heartbeatTicks;
+
+    @Value("${app.dashboard.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final AtomicLong eventIds = new AtomicLong();
+    private ExecutorService senders;
+    private int idleTicks;
+
+    /** Serialisiert Takt, Anmeldung und vollständigen Stand */
+    private final Object tickLock = new Object();
+
+    /**
+     * Gesammelte Änderungen seit dem letzten Takt (Gruppe → Schlüssel → Delta)
+     */
+    private final Map<String, ConcurrentHashMap<String, LongAdder>> pending = Map.of(
+            "by_status", new ConcurrentHashMap<>(),
+            "by_type", new ConcurrentHashMap<>(),
+            "by_department", new ConcurrentHashMap<>(),
+            "changes", new ConcurrentHashMap<>());
+    private final LongAdder pendingTotal = new LongAdder();
+
+    /**
+     * Ein noch zu sendendes Event; wird pro Client erst beim Senden gebaut
+     */
+    private record Event(long id, String name, String json) {
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Event> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        /** Beginn des laufenden send() (0 = kein Sendevorgang) und der sendende Thread */
+        private long sendingSince;
+        private Thread sender;
+
+        private Client(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-sse");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(this::close);
+        senders.shutdownNow();
+    }
+
+    /**
+     * Meldet einen neuen Client an und schickt ihm den aktuellen Stand. Bis dahin gesammelte
+     * Änderungen gehen nur noch an die bisherigen Clients, der Stand enthält sie bereits.
+     *
+     * @return null, wenn die maximale Anzahl Clients erreicht ist
+     */
+    public SseEmitter subscribe(Supplier<Map<String, Object>> initialStats) {
+        synchronized (tickLock) {
+            if (clients.size() >= maxClients) {
+                return null;
+            }
+            broadcastPending();
+
+            SseEmitter emitter = new SseEmitter(timeoutMs);
+            Client client = new Client(emitter);
+            emitter.onCompletion(() -> remove(client));
+            emitter.onTimeout(() -> close(client));
+            emitter.onError(error -> remove(client));
+            clients.add(client);
+
+            enqueue(client, new Event(eventIds.incrementAndGet(), "stats", toJson(initialStats.get())));
+            log.debug("Dashboard SSE client connected ({} clients)", clients.size());
+            return emitter;
+        }
+    }
+
+    /**
+     * Vertragszähler haben sich geändert (nach dem Commit aufgerufen)
+     */
+    public void recordContractDelta(Contract.ContractStatus status, String contractType, String department, long count) {
+        pendingTotal.add(count);
+        if (status != null) {
+            add("by_status", status.name(), count);
+        }
+        if (contractType != null) {
+            add("by_type", contractType, count);
+        }
+        add("by_department", department != null ? department : DashboardCounterService.NO_DEPARTMENT, count);
+    }
+
+    /**
+     * Ein Datenbereich (Verträge, Rechnungen) wurde geändert (nach dem Commit aufgerufen)
+     */
+    public void recordChange(DataDomain domain) {
+        add("changes", domain.name(), 1);
+    }
+
+    private void add(String group, String key, long delta) {
+        pending.get(group).computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Takt: gesammelte Änderungen als ein Delta-Event verschicken, sonst gelegentlich ein Heartbeat
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.events.flush-interval-ms:1000}")
+    public void flush() {
+        closeStalledClients();
+        synchronized (tickLock) {
+            if (!broadcastPending() && !clients.isEmpty() && ++idleTicks >= heartbeatTicks) {
+                // Hält Proxies offen und erkennt abgebrochene Verbindungen
+                idleTicks = 0;
+                broadcast(new Event(eventIds.incrementAndGet(), "heartbeat", "{}"));
+            }
+        }
+    }
+
+    /**
+     * Schickt allen Clients einen vollständigen Stand (z.B. nach dem Abgleich der Zähler).
+     * Bis dahin gesammelte Änderungen sind darin enthalten und werden verworfen.
+     */
+    public void publishStats(Supplier<Map<String, Object>> stats) {
+        synchronized (tickLock) {
+            drainPending();
+            if (!clients.isEmpty()) {
+                broadcast(new Event(eventIds.incrementAndGet(), "stats", toJson(stats.get())));
+            }
+        }
+    }
+
+    /**
+     * Trennt Clients, deren Sendevorgang länger als send-timeout-ms hängt, und unterbricht das
+     * blockierte send(), damit der Sende-Thread wieder frei wird
+     */
+    private void closeStalledClients() {
+        long now = System.currentTimeMillis();
+        for (Client client : clients) {
+            synchronized (client) {
+                if (client.sendingSince == 0 || now - client.sendingSince < sendTimeoutMs) {
+                    continue;
+                }
+                log.info("Dropping stalled dashboard SSE client (send blocked for {} ms)", now - client.sendingSince);
+                close(client);
+                client.sender.interrupt();
+            }
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Verschickt die gesammelten Änderungen als Delta-Event
+     *
+     * @return false, wenn es keine Änderungen gab
+     */
+    private boolean broadcastPending() {
+        Map<String, Object> delta = drainPending();
+        if (delta == null) {
+            return false;
+        }
+        if (!clients.isEmpty()) {
+            idleTicks = 0;
+            broadcast(new Event(eventIds.incrementAndGet(), "delta", toJson(delta)));
+        }
+        return true;
+    }
+
+    private Map<String, Object> drainPending() {
+        Map<String, Object> delta = new HashMap<>();
+        long total = pendingTotal.sumThenReset();
+        if (total != 0) {
+            delta.put("total", total);
+        }
+
+        pending.forEach((group, counters) -> {
+            Map<String, Long> values = new TreeMap<>();
+            counters.forEach((key, adder) -> {
+                long value = adder.sumThenReset();
+                if (value != 0) {
+                    values.put(key, value);
+                }
+            });
+            if (!values.isEmpty()) {
+                delta.put(group, values);
+            }
+        });
+
+        return delta.isEmpty() ? null : delta;
+    }
+
+    private void broadcast(Event event) {
+        for (Client client : clients) {
+            enqueue(client, event);
+        }
+    }
+
+    private void enqueue(Client client, Event event) {
+        if (client.closed) {
+            return;
+        }
+        if (!client.buffer.offer(event)) {
+            log.info("Dropping slow dashboard SSE client (buffer of {} events full)", bufferSize);
+            close(client);
+            return;
+        }
+        if (client.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    /**
+     * Sendet den Puffer eines Clients; pro Client läuft höchstens ein Sendevorgang gleichzeitig
+     */
+    private void drain(Client client) {
+        try {
+            Event event;
+            while (!client.closed && (event = client.buffer.poll()) != null) {
+                synchronized (client) {
+                    client.sender = Thread.currentThread();
+                    client.sendingSince = System.currentTimeMillis();
+                }
+                try {
+                    client.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.name())
+                            .data(event.json(), MediaType.APPLICATION_JSON));
+                } finally {
+                    synchronized (client) {
+                        client.sendingSince = 0;
+                        client.sender = null;
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dashboard SSE client disconnected: {}", e.getMessage());
+            close(client);
+        } finally {
+            // Eine Unterbrechung durch closeStalledClients gilt nur diesem Client
+            Thread.interrupted();
+            client.draining.set(false);
+            // Events, die nach dem letzten poll() eingereiht wurden, nicht liegen lassen
+            if (!client.closed && !client.buffer.isEmpty() && client.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(client));
+            }
+        }
+    }
+
+    private void close(Client client) {
+        if (client.closed) {
+            return;
+        }
+        client.buffer.clear();
+        remove(client);
+        try {
+            client.emitter.complete();
+        } catch (IllegalStateException e) {
+            // bereits abgeschlossen
+        }
+    }
+
+    private void remove(Client client) {
+        client.closed = true;
+        clients.remove(client);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize dashboard event", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.projection.ContractStatusTypeSummary;
+import com.jbx.econtract.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service für Dashboard-Kennzahlen
+ *
+ * /stats wird aus den Zählern im Speicher beantwortet ({@link DashboardCounterService});
+ * bis zum ersten Abgleich oder bei abgeschalteten Zählern per Aggregat-Abfrage.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private final ContractRepository contractRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final DashboardEventBroadcaster dashboardEventBroadcaster;
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.dashboard.counters.enabled:true}")
+    private boolean countersEnabled;
+
+    /**
+     * Zeitraum in Tagen für "bald ablaufend"
+     */
+    private static final int EXPIRING_DAYS = 30;
+
+    /**
+     * Dashboard-Statistiken (O(1) aus den Zählern)
+     */
+    public Map<String, Object> getStats() {
+        if (!countersReady()) {
+            return getStatsFromDatabase();
+        }
+        return getStatsFromCounters();
+    }
+
+    private boolean countersReady() {
+        return countersEnabled && dashboardCounterService.isInitialized();
+    }
+
+    /**
+     * Statistiken nur aus dem Speicher; darf unter {@link DashboardCounterService#snapshot} laufen
+     */
+    private Map<String, Object> getStatsFromCounters() {
+        Map<String, Object> stats = toStats(
+                dashboardCounterService.getTotal(),
+                dashboardCounterService.getByStatus(),
+                dashboardCounterService.getByType(),
+                dashboardCounterService.getExpiringSoon(),
+                dashboardCounterService.getValue(Contract.ContractStatus.ACTIVE));
+        stats.put("by_department", dashboardCounterService.getByDepartment());
+        stats.put("reconciled_at", dashboardCounterService.getReconciledAt());
+        return stats;
+    }
+
+    /**
+     * Dashboard-Statistiken aus einer GROUP BY Abfrage und einem COUNT für ablaufende Verträge
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatsFromDatabase() {
+        long total = 0;
+        BigDecimal activeValue = BigDecimal.ZERO;
+        Map<Contract.ContractStatus, Long> byStatus = new EnumMap<>(Contract.ContractStatus.class);
+        Map<String, Long> byType = new TreeMap<>();
+
+        for (ContractStatusTypeSummary summary : contractRepository.summarizeByStatusAndType()) {
+            long count = summary.getCount();
+            total += count;
+            byStatus.merge(summary.getStatus(), count, Long::sum);
+            byType.merge(summary.getContractType(), count, Long::sum);
+            if (summary.getStatus() == Contract.ContractStatus.ACTIVE && summary.getTotalValue() != null) {
+                activeValue = activeValue.add(summary.getTotalValue());
+            }
+        }
+
+        return toStats(total, byStatus, byType, countExpiringSoon(), activeValue);
+    }
+
+    /**
+     * Gleicht die Zähler mit der Datenbank ab (nach dem Start und danach regelmäßig)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcileCounters() {
+        if (!countersEnabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        dashboardCounterService.reconcile(contractRepository.summarizeByStatusTypeAndDepartment(), countExpiringSoon());
+        dataVersionService.markDerivedChanged();
+        log.debug("Dashboard counters reconciled in {} ms", System.currentTimeMillis() - start);
+
+        // Verbundene Dashboards auf den abgeglichenen Stand setzen, Deltas bauen darauf auf
+        dashboardCounterService.snapshot(() -> {
+            dashboardEventBroadcaster.publishStats(this::getStatsFromCounters);
+            return null;
+        });
+    }
+
+    /**
+     * Meldet einen Dashboard-Client für Server-Sent Events an
+     *
+     * Der Anfangsstand wird erzeugt, während keine Änderung gezählt wird; so enthält er genau die
+     * Änderungen, die der Client nicht mehr als Delta bekommt. Vor dem ersten Abgleich kommt der
+     * Stand aus der Datenbank; die Abfrage läuft vorher und außerhalb des Locks, damit gezählte
+     * Änderungen nicht auf sie warten. Der Abgleich schickt danach ohnehin einen vollständigen Stand.
+     *
+     * @return null, wenn die maximale Anzahl Clients erreicht ist
+     */
+    public SseEmitter subscribe() {
+        if (!countersReady()) {
+            Map<String, Object> stats = getStatsFromDatabase();
+            return dashboardEventBroadcaster.subscribe(() -> stats);
+        }
+        return dashboardCounterService.snapshot(() -> dashboardEventBroadcaster.subscribe(this::getStatsFromCounters));
+    }
+
+    private long countExpiringSoon() {
+        LocalDate today = LocalDate.now();
+        return contractRepository.countExpiringContracts(today, today.plusDays(EXPIRING_DAYS));
+    }
+
+    /**
+     * Antwortformat von /api/v1/dashboard/stats
+     */
+    private Map<String, Object> toStats(long total, Map<Contract.ContractStatus, Long> byStatus, Map<String, Long> byType,
+                                        long expiring, BigDecimal activeValue) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total_contracts", total);
+        stats.put("draft", byStatus.getOrDefault(Contract.ContractStatus.DRAFT, 0L));
+        stats.put("in_approval", byStatus.getOrDefault(Contract.ContractStatus.IN_APPROVAL, 0L));
+        stats.put("active", byStatus.getOrDefault(Contract.ContractStatus.ACTIVE, 0L));
+        stats.put("expired", byStatus.getOrDefault(Contract.ContractStatus.EXPIRED, 0L));
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (Contract.ContractStatus status : Contract.ContractStatus.values()) {
+            statusCounts.put(status.name(), byStatus.getOrDefault(status, 0L));
+        }
+        stats.put("by_status", statusCounts);
+        stats.put("by_type", byType);
+        stats.put("expiring_soon", expiring);
+
+        // Gesamtwert aller aktiven Verträge
+        stats.put("total_value", activeValue);
+        return stats;
+    }
+}
@@ -0,0 +1,239 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.entity.Invoice;
+import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.repository.ContractSpecifications;
+import com.jbx.econtract.repository.InvoiceRepository;
+import com.jbx.econtract.repository.InvoiceSpecifications;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service für Massendatenexporte (NDJSON & CSV)
+ *
+ * Liest über einen DB-Cursor und schreibt zeilenweise in den Stream; Time-to-first-byte und
+ * Speicherbedarf hängen damit nicht von der Tabellengröße ab.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataExportService {
+
+    private final ContractRepository contractRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Nach so vielen Zeilen wird der Stream geflusht und der Persistence Context geleert
+     */
+    private static final int CHUNK_SIZE = ContractRepository.STREAM_FETCH_SIZE;
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    /**
+     * Exportformate
+     */
+    public enum ExportFormat {
+        NDJSON("ndjson", "application/x-ndjson"),
+        CSV("csv", "text/csv; charset=UTF-8");
+
+        private final String extension;
+        private final String contentType;
+
+        ExportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * Exportierte Spalte (Name = JSON-Feld bzw. CSV-Kopfzeile)
+     */
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    private static final List<Column<Contract>> CONTRACT_COLUMNS = List.of(
+            new Column<>("id", Contract::getId),
+            new Column<>("contractNumber", Contract::getContractNumber),
+            new Column<>("title", Contract::getTitle),
+            new Column<>("contractType", Contract::getContractType),
+            new Column<>("status", Contract::getStatus),
+            new Column<>("partnerId", Contract::getPartnerId),
+            new Column<>("partnerName", Contract::getPartnerName),
+            new Column<>("department", Contract::getDepartment),
+            new Column<>("startDate", Contract::getStartDate),
+            new Column<>("endDate", Contract::getEndDate),
+            new Column<>("noticePeriodDays", Contract::getNoticePeriodDays),
+            new Column<>("autoRenewal", Contract::getAutoRenewal),
+            new Column<>("contractValue", Contract::getContractValue),
+            new Column<>("currency", Contract::getCurrency),
+            new Column<>("ownerUserId", Contract::getOwnerUserId),
+            new Column<>("createdBy", Contract::getCreatedBy),
+            new Column<>("createdAt", Contract::getCreatedAt),
+            new Column<>("updatedAt", Contract::getUpdatedAt));
+
+    // Positionen (items) sind LAZY und werden bewusst nicht exportiert
+    private static final List<Column<Invoice>> INVOICE_COLUMNS = List.of(
+            new Column<>("id", Invoice::getId),
+            new Column<>("invoiceNumber", Invoice::getInvoiceNumber),
+            new Column<>("invoiceType", Invoice::getInvoiceType),
+            new Column<>("invoiceDate", Invoice::getInvoiceDate),
+            new Column<>("billingPeriodStart", Invoice::getBillingPeriodStart),
+            new Column<>("billingPeriodEnd", Invoice::getBillingPeriodEnd),
+            new Column<>("dueDate", Invoice::getDueDate),
+            new Column<>("contractId", Invoice::getContractId),
+            new Column<>("partnerId", Invoice::getPartnerId),
+            new Column<>("partnerName", Invoice::getPartnerName),
+            new Column<>("subtotalNet", Invoice::getSubtotalNet),
+            new Column<>("taxRate", Invoice::getTaxRate),
+            new Column<>("taxAmount", Invoice::getTaxAmount),
+            new Column<>("totalGross", Invoice::getTotalGross),
+            new Column<>("currency", Invoice::getCurrency),
+            new Column<>("status", Invoice::getStatus),
+            new Column<>("paymentMethod", Invoice::getPaymentMethod),
+            new Column<>("sentDate", Invoice::getSentDate),
+            new Column<>("createdAt", Invoice::getCreatedAt),
+            new Column<>("updatedAt", Invoice::getUpdatedAt));
+
+    /**
+     * Exportiert alle (gefilterten) Verträge
+     *
+     * @return Anzahl geschriebener Zeilen
+     */
+    @Transactional(readOnly = true)
+    public long exportContracts(ExportFormat format, ReportFilter filter, OutputStream out) throws IOException {
+        log.info("Exporting contracts as {}", format);
+        try (Stream<Contract> contracts = contractRepository.streamMatching(ContractSpecifications.matching(filter), BY_ID)) {
+            return write(contracts, CONTRACT_COLUMNS, format, out);
+        }
+    }
+
+    /**
+     * Exportiert alle (gefilterten) Rechnungen
+     *
+     * @return Anzahl geschriebener Zeilen
+     */
+    @Transactional(readOnly = true)
+    public long exportInvoices(ExportFormat format, ReportFilter filter, OutputStream out) throws IOException {
+        log.info("Exporting invoices as {}", format);
+        try (Stream<Invoice> invoices = invoiceRepository.streamMatching(InvoiceSpecifications.matching(filter), BY_ID)) {
+            return write(invoices, INVOICE_COLUMNS, format, out);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = format == ExportFormat.NDJSON
+                ? writeNdjson(rows, columns, out)
+                : writeCsv(rows, columns, out);
+        log.info("Exported {} rows as {} in {} ms", count, format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, List<Column<T>> columns, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Trennzeichen zwischen Objekten selbst schreiben (Standard wäre ein Leerzeichen)
+            generator.setRootValueSeparator(null);
+
+            for (T row : iterate(rows)) {
+                generator.writeStartObject();
+                for (Column<T> column : columns) {
+                    generator.writeFieldName(column.name());
+                    generator.writeObject(column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+
+                if (endOfChunk(++count)) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Stream<T> rows, List<Column<T>> columns, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+
+        for (T row : iterate(rows)) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) writer.write(',');
+                writer.write(csvValue(columns.get(i).value().apply(row)));
+            }
+            writer.write("\r\n");
+
+            if (endOfChunk(++count)) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Erste Zeile sofort ausliefern, danach je Chunk flushen und den Persistence Context leeren
+     */
+    private boolean endOfChunk(long rowsWritten) {
+        if (rowsWritten % CHUNK_SIZE == 0) {
+            entityManager.clear();
+            return true;
+        }
+        return rowsWritten == 1;
+    }
+
+    /**
+     * CSV-Feld nach RFC 4180 (Quoting nur bei Bedarf)
+     */
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static <T> Iterable<T> iterate(Stream<T> stream) {
+        return stream::iterator;
+    }
+}
@@ -0,0 +1,100 @@
+package com.jbx.econtract.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service für Datenstände
+ *
+ * Hält je Datenbereich einen Versionszähler, der bei jeder Änderung erhöht wird.
+ * Caches verwenden den Zähler als Teil ihres Schlüssels, damit veraltete Einträge nie mehr getroffen werden.
+ *
+ * Die Zähler sind prozesslokal und sehen nur Änderungen, die über diesen Knoten geschrieben werden.
+ * Report-Cache und ETags setzen daher einen einzelnen Anwendungsknoten voraus; bei mehreren Knoten
+ * kann ein Knoten nach Änderungen über einen anderen Knoten bis zur nächsten eigenen Änderung veraltete
+ * Ergebnisse bzw. 304 liefern. Sticky Sessions genügen nicht, die Änderung kann von einem anderen
+ * Client über einen anderen Knoten kommen.
+ */
+@Service
+@Slf4j
+public class DataVersionService {
+
+    /**
+     * Datenbereiche mit eigenem Versionszähler
+     */
+    public enum DataDomain {
+        CONTRACTS,
+        INVOICES,
+        IMPORTS,
+        FRAMEWORK_CONTRACTS
+    }
+
+    private final Map<DataDomain, AtomicLong> versions = new EnumMap<>(DataDomain.class);
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final DashboardEventBroadcaster dashboardEventBroadcaster;
+
+    public DataVersionService(DashboardEventBroadcaster dashboardEventBroadcaster) {
+        this.dashboardEventBroadcaster = dashboardEventBroadcaster;
+        for (DataDomain domain : DataDomain.values()) {
+            versions.put(domain, new AtomicLong());
+        }
+    }
+
+    /**
+     * Aktueller Versionsstand eines Datenbereichs
+     */
+    public long getVersion(DataDomain domain) {
+        return versions.get(domain).get();
+    }
+
+    /**
+     * Aktueller Versionsstand über alle Datenbereiche
+     */
+    public long getGlobalVersion() {
+        return globalVersion.get();
+    }
+
+    /**
+     * Meldet eine Änderung. Innerhalb einer Transaktion wird erst nach dem Commit erhöht, und zwar
+     * nach allen afterCommit-Callbacks (Dashboard-Zähler, Würfel), damit kein Leser den neuen Stand
+     * mit noch nicht sichtbaren oder noch nicht fortgeschriebenen Daten verknüpft.
+     */
+    public void markChanged(DataDomain domain) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        bump(domain);
+                    }
+                }
+            });
+        } else {
+            bump(domain);
+        }
+    }
+
+    /**
+     * Abgeleitete Daten (Monatsaggregate, Zähler, Würfel) wurden nachgeführt oder neu aufgebaut.
+     * Erhöht nur den globalen Stand, damit ETags danach nicht mehr auf den alten Stand passen;
+     * die Datenbereiche selbst sind unverändert.
+     */
+    public void markDerivedChanged() {
+        long version = globalVersion.incrementAndGet();
+        log.debug("Global data version is now {} (derived data updated)", version);
+    }
+
+    private void bump(DataDomain domain) {
+        long version = versions.get(domain).incrementAndGet();
+        globalVersion.incrementAndGet();
+        dashboardEventBroadcaster.recordChange(domain);
+        log.debug("Data version of {} is now {}", domain, version);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jbx.econtract.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Service für den Hibernate Second-Level-Cache (Statistiken und Leeren einzelner Regionen)
+ *
+ * Regionen, Größen und TTLs stehen in ehcache.xml.
+ */
+@Service
+@Slf4j
+public class EntityCacheService {
+
+    private static final List<String> QUERY_REGIONS =
+            List.of("default-query-results-region", "default-update-timestamps-region");
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Gesamtzähler und Zähler je Region
+     */
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("queryCachePuts", statistics.getQueryCachePutCount());
+        result.put("since", statistics.getStartTime());
+
+        List<Map<String, Object>> regions = new ArrayList<>();
+        for (String name : getRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("region", name);
+            entry.put("hits", region.getHitCount());
+            entry.put("misses", region.getMissCount());
+            entry.put("puts", region.getPutCount());
+            entry.put("entries", region.getElementCountInMemory());
+            long lookups = region.getHitCount() + region.getMissCount();
+            entry.put("hitRatio", lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups);
+            regions.add(entry);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    /**
+     * Leert eine Region
+     *
+     * @throws IllegalArgumentException bei unbekannter Region
+     */
+    public void evictRegion(String region) {
+        if (!getRegionNames().contains(region)) {
+            throw new IllegalArgumentException("Unbekannte Cache-Region: " + region);
+        }
+        sessionFactory.getCache().evictRegion(region);
+        log.info("Second-level cache region {} evicted", region);
+    }
+
+    /**
+     * Leert alle Regionen, z.B. nach Änderungen direkt in der Datenbank
+     */
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        log.info("All second-level cache regions evicted");
+    }
+
+    private TreeSet<String> getRegionNames() {
+        TreeSet<String> names = new TreeSet<>(List.of(sessionFactory.getStatistics().getSecondLevelCacheRegionNames()));
+        names.addAll(QUERY_REGIONS);
+        return names;
+    }
+}
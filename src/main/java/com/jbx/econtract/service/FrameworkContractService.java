@@ -23,6 +23,9 @@ public class FrameworkContractService {
     @Autowired
     private ContractRepository contractRepository;
     
+    @Autowired
+    private NumberAllocatorService numberAllocatorService;
+    
     public Page<FrameworkContract> findAll(Pageable pageable) {
         return frameworkContractRepository.findAll(pageable);
     }
@@ -121,9 +124,7 @@ public class FrameworkContractService {
     }
     
     private String generateFrameworkNumber() {
-        int year = LocalDate.now().getYear();
-        long count = frameworkContractRepository.count() + 1;
-        return String.format("FW-%d-%06d", year, count);
+        return numberAllocatorService.nextNumber(NumberAllocatorService.NumberSeries.FRAMEWORK_CONTRACT);
     }
 }
 
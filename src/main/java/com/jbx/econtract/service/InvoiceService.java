@@ -1,5 +1,6 @@
 package com.jbx.econtract.service;
 
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.Invoice;
 import com.jbx.econtract.model.entity.Invoice.InvoiceStatus;
 import com.jbx.econtract.model.entity.InvoiceItem;
@@ -8,15 +9,19 @@ import com.jbx.econtract.repository.InvoiceItemRepository;
 import com.jbx.econtract.repository.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Year;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service for managing invoices.
@@ -33,6 +38,13 @@ public class InvoiceService {
     private final InvoiceRepository invoiceRepository;
     private final InvoiceItemRepository invoiceItemRepository;
     private final ServiceRecordService serviceRecordService;
+    private final KeysetPaginationService keysetPaginationService;
+    private final NumberAllocatorService numberAllocatorService;
+
+    /**
+     * Sort keys allowed for keyset pagination (NOT NULL columns).
+     */
+    public static final Set<String> SCROLL_SORT_KEYS = Set.of("invoiceDate", "dueDate", "invoiceNumber", "createdAt");
 
     /**
      * Create a new invoice.
@@ -77,29 +89,12 @@ public class InvoiceService {
 
     /**
      * Generate a unique invoice number.
-     * Format: INV-YYYY-NNNN (e.g., INV-2025-0001)
+     * Format: INV-YYYY-NNNN (e.g., INV-2025-0001), allocated from the per-year counter.
      *
      * @return the generated invoice number
      */
     public String generateInvoiceNumber() {
-        int currentYear = Year.now().getValue();
-        List<String> latestNumbers = invoiceRepository.findLatestInvoiceNumberByYear(currentYear);
-        
-        int nextNumber = 1;
-        if (!latestNumbers.isEmpty()) {
-            String latestNumber = latestNumbers.get(0);
-            try {
-                // Extract number part from INV-2025-0001
-                String[] parts = latestNumber.split("-");
-                if (parts.length == 3) {
-                    nextNumber = Integer.parseInt(parts[2]) + 1;
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Could not parse invoice number: {}", latestNumbers.get(0));
-            }
-        }
-        
-        return String.format("INV-%d-%04d", currentYear, nextNumber);
+        return numberAllocatorService.nextNumber(NumberAllocatorService.NumberSeries.INVOICE);
     }
 
     /**
@@ -107,14 +102,17 @@ public class InvoiceService {
      *
      * @param id the invoice ID
      * @param invoice the updated invoice data
+     * @param expectedVersion the version the change is based on (If-Match), null to skip the check
      * @return the updated invoice
      * @throws RuntimeException if invoice not found or already sent/paid
+     * @throws OptimisticLockingFailureException if the invoice was modified in the meantime
      */
-    public Invoice updateInvoice(Long id, Invoice invoice) {
+    public Invoice updateInvoice(Long id, Invoice invoice, Long expectedVersion) {
         log.info("Updating invoice ID: {}", id);
         
         Invoice existing = invoiceRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Invoice not found with ID: " + id));
+        checkVersion(existing, expectedVersion);
         
         // Check if invoice can be updated
         if (existing.getStatus() == InvoiceStatus.SENT || 
@@ -138,7 +136,8 @@ public class InvoiceService {
         existing.setCustomerNotes(invoice.getCustomerNotes());
         existing.setDiscountPercentage(invoice.getDiscountPercentage());
         
-        Invoice updated = invoiceRepository.save(existing);
+        // Flush so the returned entity (and its ETag) carries the incremented version
+        Invoice updated = invoiceRepository.saveAndFlush(existing);
         log.info("Invoice updated: {}", id);
         
         return updated;
@@ -148,13 +147,16 @@ public class InvoiceService {
      * Delete an invoice.
      *
      * @param id the invoice ID
+     * @param expectedVersion the version the deletion is based on (If-Match), null to skip the check
      * @throws RuntimeException if invoice not found or already sent/paid
+     * @throws OptimisticLockingFailureException if the invoice was modified in the meantime
      */
-    public void deleteInvoice(Long id) {
+    public void deleteInvoice(Long id, Long expectedVersion) {
         log.info("Deleting invoice ID: {}", id);
         
         Invoice existing = invoiceRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Invoice not found with ID: " + id));
+        checkVersion(existing, expectedVersion);
         
         // Check if invoice can be deleted
         if (existing.getStatus() == InvoiceStatus.SENT || 
@@ -165,10 +167,17 @@ public class InvoiceService {
         // Delete associated items first
         invoiceItemRepository.deleteByInvoiceId(id);
         
-        invoiceRepository.deleteById(id);
+        invoiceRepository.delete(existing);
         log.info("Invoice deleted: {}", id);
     }
 
+    private static void checkVersion(Invoice invoice, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(invoice.getVersion())) {
+            throw new OptimisticLockingFailureException("Invoice " + invoice.getId()
+                + " was modified, current version: " + invoice.getVersion());
+        }
+    }
+
     /**
      * Get invoice by ID.
      *
@@ -190,6 +199,31 @@ public class InvoiceService {
         return invoiceRepository.findAll();
     }
 
+    /**
+     * Get invoices page by page using keyset pagination (no COUNT, constant cost per page).
+     *
+     * @param cursor    cursor from the previous page, or null for the first page
+     * @param size      page size
+     * @param sortBy    sort attribute (ignored when a cursor is given)
+     * @param direction sort direction (ignored when a cursor is given)
+     * @param status    optional status filter
+     * @param contractId optional contract filter
+     * @return page of invoices with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Invoice> scrollInvoices(String cursor, int size, String sortBy, Sort.Direction direction,
+                                              InvoiceStatus status, Long contractId) {
+        Specification<Invoice> spec = Specification.where(null);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (contractId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("contractId"), contractId));
+        }
+        return keysetPaginationService.scroll(invoiceRepository, Invoice.class, spec, cursor, size,
+                sortBy, direction, SCROLL_SORT_KEYS, Function.identity());
+    }
+
     /**
      * Get invoices by contract ID.
      *
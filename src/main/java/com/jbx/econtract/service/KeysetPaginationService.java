@@ -0,0 +1,135 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbx.econtract.model.dto.CursorPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Service für Keyset-Pagination (Seek statt OFFSET)
+ *
+ * Liest je Seite nur die angeforderten Zeilen ab dem letzten (Sortierschlüssel, id) der Vorseite, ohne COUNT.
+ * Der Cursor enthält Sortierung und Schlüsselwerte als Base64-JSON; beim Lesen werden die Werte über
+ * das JPA-Metamodell in den Attributtyp zurückgewandelt.
+ */
+@Service
+@RequiredArgsConstructor
+public class KeysetPaginationService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inhalt des Cursors
+     */
+    private record Cursor(String sort, Sort.Direction direction, Map<String, Object> keys) {
+    }
+
+    /**
+     * Liest eine Seite. Ist ein Cursor angegeben, gilt dessen Sortierung.
+     *
+     * @param sortKeys erlaubte Sortierattribute (nicht null, damit der Seek-Vergleich eindeutig ist)
+     * @throws IllegalArgumentException bei ungültigem Cursor oder Sortierattribut
+     */
+    @Transactional(readOnly = true)
+    public <T, R> CursorPage<R> scroll(JpaSpecificationExecutor<T> repository, Class<T> entityType,
+                                       Specification<T> spec, String cursor, int size,
+                                       String sortBy, Sort.Direction direction, Set<String> sortKeys,
+                                       Function<T, R> mapper) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        String sortProperty = sortBy;
+        Sort.Direction sortDirection = direction;
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor decoded = decode(cursor, entityType);
+            sortProperty = decoded.sort();
+            sortDirection = decoded.direction();
+            position = ScrollPosition.forward(decoded.keys());
+        }
+        if (!sortKeys.contains(sortProperty)) {
+            throw new IllegalArgumentException("Sortierung nach '" + sortProperty + "' nicht erlaubt, möglich: " + sortKeys);
+        }
+
+        // Spring Data hängt die id als eindeutigen Zusatzschlüssel an
+        Sort sort = Sort.by(sortDirection, sortProperty);
+        ScrollPosition start = position;
+        Window<T> window = repository.findBy(spec != null ? spec : Specification.<T>where(null),
+                query -> query.sortBy(sort).limit(limit).scroll(start));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(new Cursor(sortProperty, sortDirection, last.getKeys()));
+        }
+
+        List<R> items = window.getContent().stream().map(mapper).toList();
+        return new CursorPage<>(items, nextCursor, nextCursor != null);
+    }
+
+    private String encode(Cursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (IOException e) {
+            throw new RuntimeException("Cursor konnte nicht erzeugt werden", e);
+        }
+    }
+
+    private Cursor decode(String value, Class<?> entityType) {
+        Map<String, Object> raw;
+        try {
+            raw = objectMapper.readValue(Base64.getUrlDecoder().decode(value), new TypeReference<>() {
+            });
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ungültiger Cursor");
+        }
+
+        if (!(raw.get("sort") instanceof String sort) || !(raw.get("keys") instanceof Map<?, ?> keys)) {
+            throw new IllegalArgumentException("Ungültiger Cursor");
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(String.valueOf(raw.get("direction")))
+                .orElseThrow(() -> new IllegalArgumentException("Ungültiger Cursor"));
+
+        // JSON kennt keine Datums- oder Dezimaltypen: Schlüsselwerte in den Attributtyp zurückwandeln
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityType);
+        Map<String, Object> typedKeys = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> key : keys.entrySet()) {
+            String name = String.valueOf(key.getKey());
+            if (!name.equals(sort) && !name.equals(ID)) {
+                throw new IllegalArgumentException("Ungültiger Cursor");
+            }
+            try {
+                Class<?> type = entity.getAttribute(name).getJavaType();
+                typedKeys.put(name, objectMapper.convertValue(key.getValue(), type));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Ungültiger Cursor");
+            }
+        }
+        if (!typedKeys.containsKey(sort) || !typedKeys.containsKey(ID)) {
+            throw new IllegalArgumentException("Ungültiger Cursor");
+        }
+        return new Cursor(sort, direction, typedKeys);
+    }
+}
@@ -0,0 +1,174 @@
+package com.jbx.econtract.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service für fortlaufende Geschäftsnummern (Vertrags-, Rahmenvertrags- und Rechnungsnummern)
+ *
+ * Je Nummernkreis und Jahr gibt es eine PostgreSQL-Sequenz number_seq_{kreis}_{jahr}, deren
+ * Schrittweite einem Block entspricht. Ein nextval reserviert einen Block, der aus dem Speicher
+ * vergeben wird (Hi/Lo). nextval ist nicht transaktional und läuft auf der Verbindung des Aufrufers,
+ * es wird also keine zweite Verbindung aus dem Pool benötigt. Nummern sind knotenübergreifend
+ * eindeutig, aber nicht lückenlos: beim Neustart verfallen die nicht vergebenen Nummern eines Blocks.
+ *
+ * Die Sequenzen des laufenden und des nächsten Jahres werden beim Start und täglich angelegt.
+ */
+@Service
+@Slf4j
+public class NumberAllocatorService {
+
+    /**
+     * Nummernkreise mit ihrem Format (Jahr, laufende Nummer)
+     */
+    public enum NumberSeries {
+        CONTRACT("CON-%d-%06d"),
+        FRAMEWORK_CONTRACT("FW-%d-%06d"),
+        INVOICE("INV-%d-%04d");
+
+        private final String format;
+
+        NumberSeries(String format) {
+            this.format = format;
+        }
+
+        public String format(int year, long value) {
+            return String.format(format, year, value);
+        }
+    }
+
+    private static final String SEQUENCE_INCREMENT =
+            "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ddlTransaction;
+
+    @Value("${app.numbers.block-size:20}")
+    private int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Reservierter Bereich [next, limit) und Schrittweite der Sequenz (0 = noch nicht gelesen)
+     */
+    private static final class Block {
+        private long next;
+        private long limit;
+        private volatile long increment;
+    }
+
+    public NumberAllocatorService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Nur für das Anlegen fehlender Sequenzen, das nicht mit der aufrufenden Transaktion zurückrollen darf
+        this.ddlTransaction = new TransactionTemplate(transactionManager);
+        this.ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Legt die Sequenzen des laufenden und des nächsten Jahres an, damit die Vergabe sie nie selbst
+     * anlegen muss
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.numbers.prepare-cron:0 0 1 * * *}")
+    public void prepareSequences() {
+        int year = Year.now().getValue();
+        for (NumberSeries series : NumberSeries.values()) {
+            for (int y = year; y <= year + 1; y++) {
+                try {
+                    block(series, y);
+                } catch (DataAccessException e) {
+                    log.warn("Number sequence for {} {} not prepared: {}", series, y, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Nächste formatierte Nummer des laufenden Jahres
+     */
+    public String nextNumber(NumberSeries series) {
+        int year = Year.now().getValue();
+        return series.format(year, next(series, year));
+    }
+
+    /**
+     * Nächste laufende Nummer eines Nummernkreises für ein Jahr (beginnt bei 1)
+     */
+    public long next(NumberSeries series, int year) {
+        Block block = block(series, year);
+        synchronized (block) {
+            if (block.next < block.limit) {
+                return block.next++;
+            }
+        }
+
+        // Außerhalb des Locks: wartende Threads halten ihre Verbindung, der reservierende braucht keine weitere
+        Long start = jdbcTemplate.queryForObject("SELECT nextval(?)", Long.class, sequenceName(series, year));
+        if (start == null) {
+            throw new RuntimeException("Nummernblock für " + series + " " + year + " konnte nicht reserviert werden");
+        }
+        log.debug("Reserved {} numbers of {} {} from {}", block.increment, series, year, start);
+
+        synchronized (block) {
+            // Hat ein anderer Thread inzwischen nachgeladen, verfällt der Rest dieses Blocks
+            if (block.next >= block.limit) {
+                block.next = start + 1;
+                block.limit = start + block.increment;
+            }
+            return start;
+        }
+    }
+
+    private Block block(NumberSeries series, int year) {
+        String sequence = sequenceName(series, year);
+        Block block = blocks.computeIfAbsent(sequence, key -> new Block());
+        if (block.increment == 0) {
+            block.increment = increment(sequence);
+        }
+        return block;
+    }
+
+    /**
+     * Schrittweite der Sequenz; eine fehlende Sequenz wird mit der konfigurierten Blockgröße angelegt
+     */
+    private long increment(String sequence) {
+        List<Long> increment = jdbcTemplate.queryForList(SEQUENCE_INCREMENT, Long.class, sequence);
+        if (!increment.isEmpty()) {
+            return increment.get(0);
+        }
+
+        // Nur, wenn die Sequenz nicht vorab angelegt wurde: eigene Transaktion mit zweiter Verbindung
+        log.info("Creating number sequence {}", sequence);
+        try {
+            ddlTransaction.executeWithoutResult(status -> jdbcTemplate.execute(
+                    "CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + Math.max(1, blockSize)));
+        } catch (DataAccessException e) {
+            // Ein anderer Knoten hat sie gleichzeitig angelegt
+            log.debug("Number sequence {} not created: {}", sequence, e.getMessage());
+        }
+        increment = jdbcTemplate.queryForList(SEQUENCE_INCREMENT, Long.class, sequence);
+        if (increment.isEmpty()) {
+            throw new RuntimeException("Nummernsequenz " + sequence + " konnte nicht angelegt werden");
+        }
+        return increment.get(0);
+    }
+
+    private static String sequenceName(NumberSeries series, int year) {
+        return "number_seq_" + series.name().toLowerCase(Locale.ROOT) + "_" + year;
+    }
+}
@@ -0,0 +1,256 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service für den Monatsabschluss-Export: alle Berichte in allen Formaten als ZIP
+ *
+ * Die Berichte werden parallel auf einem eigenen, begrenzten Thread-Pool je Export erzeugt. Auf PostgreSQL
+ * lesen alle Worker denselben exportierten Snapshot (pg_export_snapshot), die Berichte sind also
+ * untereinander konsistent.
+ *
+ * Ein Export belegt workers + 1 Verbindungen aus dem {@link ReportConnectionBudget}, das er mit Report-Jobs
+ * und Snapshots teilt; reicht das Budget nicht, wartet er, ohne eine Verbindung zu halten. Warten und
+ * Erzeugen zusammen bleiben unter dem Timeout der asynchronen HTTP-Anfrage, damit keine Verbindungen
+ * für eine Antwort belegt werden, die niemand mehr abholt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportBundleService {
+
+    private final ReportService reportService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ReportConnectionBudget connectionBudget;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * Jeder Worker belegt eine DB-Verbindung, der Koordinator eine weitere
+     */
+    @Value("${app.reports.bundle.parallelism:2}")
+    private int parallelism;
+
+    /**
+     * Gesamtzeit für Warten und Erzeugen
+     */
+    @Value("${app.reports.bundle.timeout-seconds:240}")
+    private int timeoutSeconds;
+
+    @Value("${spring.mvc.async.request-timeout:300000}")
+    private long asyncRequestTimeoutMs;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private int workers;
+    private boolean snapshotSupported;
+
+    @PostConstruct
+    public void init() {
+        workers = Math.max(1, Math.min(parallelism, connectionBudget.getPermits() - 1));
+        // Reserve für das Schreiben des ZIPs innerhalb der asynchronen Anfrage
+        int maxSeconds = (int) Math.max(1, asyncRequestTimeoutMs * 8 / 10 / 1000);
+        if (asyncRequestTimeoutMs > 0 && timeoutSeconds > maxSeconds) {
+            log.warn("Report bundle timeout {} s exceeds the async request timeout, using {} s", timeoutSeconds, maxSeconds);
+            timeoutSeconds = maxSeconds;
+        }
+        log.info("Report bundles: {} workers each, timeout {} s", workers, timeoutSeconds);
+
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        snapshotSupported = product != null && product.toLowerCase().contains("postgresql");
+        if (!snapshotSupported) {
+            log.info("Database {} does not support snapshot export, report bundles are consistent per report only", product);
+        }
+    }
+
+    /**
+     * Erzeugt alle Berichte parallel und schreibt sie als ZIP in den Stream
+     */
+    public void writeBundle(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long deadline = start + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+
+        // Warten ohne DB-Verbindung, bis Koordinator und Worker ins Verbindungsbudget passen
+        int connections = workers + 1;
+        try {
+            if (!connectionBudget.tryAcquire(connections, timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException("Report bundle not started: other reports still running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Report bundle interrupted while waiting", e);
+        }
+
+        List<Path> files;
+        try {
+            log.info("Generating report bundle ({} workers)", workers);
+            files = renderAll(deadline);
+        } finally {
+            connectionBudget.release(connections);
+        }
+
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            int i = 0;
+            for (ReportType type : ReportType.values()) {
+                for (ReportFormat format : ReportFormat.values()) {
+                    Path file = files.get(i++);
+                    zip.putNextEntry(new ZipEntry(type.getFilePrefix() + "_" + date + "." + format.getExtension()));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                }
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            files.forEach(this::deleteQuietly);
+        }
+
+        log.info("Report bundle generated in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Rendert alle Berichte in Temp-Dateien, in der Reihenfolge Typ × Format
+     */
+    private List<Path> renderAll(long deadline) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "report-bundle-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return snapshotTransaction().execute(status -> {
+                String snapshotId = snapshotSupported
+                        ? jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class)
+                        : null;
+
+                List<Future<Path>> tasks = new ArrayList<>();
+                for (ReportType type : ReportType.values()) {
+                    for (ReportFormat format : ReportFormat.values()) {
+                        tasks.add(executor.submit(() -> renderToTempFile(type, format, snapshotId)));
+                    }
+                }
+
+                // Export-Transaktion muss offen bleiben, bis alle Worker den Snapshot übernommen haben
+                List<Path> rendered = new ArrayList<>();
+                try {
+                    for (Future<Path> task : tasks) {
+                        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                        rendered.add(task.get(remaining, TimeUnit.MILLISECONDS));
+                    }
+                    return rendered;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel(tasks, rendered);
+                    throw new RuntimeException("Report bundle interrupted", e);
+                } catch (TimeoutException e) {
+                    cancel(tasks, rendered);
+                    throw new RuntimeException("Report bundle exceeded " + timeoutSeconds + " s", e);
+                } catch (ExecutionException e) {
+                    cancel(tasks, rendered);
+                    throw e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new RuntimeException("Error generating report bundle", e.getCause());
+                }
+            });
+        } finally {
+            // Unterbricht noch laufende Worker; deren Transaktionen laufen zudem in das Timeout
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Bricht alle Worker ab und löscht die bereits erzeugten Dateien
+     */
+    private void cancel(List<Future<Path>> tasks, List<Path> rendered) {
+        tasks.forEach(task -> task.cancel(true));
+        rendered.forEach(this::deleteQuietly);
+        for (Future<Path> task : tasks) {
+            if (task.isDone() && !task.isCancelled()) {
+                try {
+                    Path file = task.get();
+                    if (!rendered.contains(file)) {
+                        deleteQuietly(file);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Worker hat seine Datei selbst gelöscht
+                }
+            }
+        }
+    }
+
+    /**
+     * Rendert einen Bericht in einer eigenen Transaktion, die den Snapshot des Koordinators übernimmt
+     */
+    private Path renderToTempFile(ReportType type, ReportFormat format, String snapshotId) throws Exception {
+        Path file = Files.createTempFile("report-bundle-", "." + format.getExtension());
+        try {
+            snapshotTransaction().execute(status -> {
+                if (snapshotId != null) {
+                    // muss die erste Anweisung der Transaktion sein
+                    jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId.replace("'", "") + "'");
+                }
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    reportService.writeReport(type, format, out);
+                } catch (Exception e) {
+                    throw new RuntimeException("Error generating " + type + " " + format + " report", e);
+                }
+                return null;
+            });
+            return file;
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private TransactionTemplate snapshotTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        template.setReadOnly(true);
+        // Abfragetimeout, damit abgebrochene Worker ihre Verbindung auch in laufenden Statements freigeben
+        template.setTimeout(timeoutSeconds);
+        return template;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.service.DataVersionService.DataDomain;
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Cache für gerenderte Berichte
+ *
+ * Schlüssel = Berichtstyp + Format + Filter + Datenstand + Tagesdatum. Jede Änderung an Verträgen oder
+ * Rechnungen erhöht den Datenstand, alte Einträge werden danach nicht mehr getroffen und
+ * per LRU verdrängt. Aus dem Speicher verdrängte Einträge werden auf die Platte ausgelagert.
+ *
+ * Nur für einen einzelnen Anwendungsknoten: der Datenstand stammt aus den prozesslokalen Zählern von
+ * {@link DataVersionService} und sieht nur Änderungen, die über diesen Knoten geschrieben wurden. Bei
+ * mehreren Knoten liefert ein Knoten nach Änderungen über einen anderen Knoten bis zum Tageswechsel
+ * oder zur nächsten eigenen Änderung veraltete Berichte; Sticky Sessions helfen dagegen nicht, weil
+ * die Änderung von einem anderen Client kommen kann. Dann app.reports.cache.enabled=false setzen.
+ * Das Cache-Verzeichnis gehört einem Prozess und wird beim Start geleert, es darf nicht geteilt werden.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCacheService {
+
+    private final ReportService reportService;
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.reports.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.cache.max-memory-mb:64}")
+    private long maxMemoryMb;
+
+    @Value("${app.reports.cache.max-disk-entries:200}")
+    private int maxDiskEntries;
+
+    @Value("${app.reports.cache.dir:${java.io.tmpdir}/econtract-report-cache}")
+    private String cacheDir;
+
+    /**
+     * Speicher-Tier (access-order = LRU)
+     */
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Platten-Tier (access-order = LRU)
+     */
+    private final LinkedHashMap<String, Path> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryBytes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path dir = Paths.get(cacheDir);
+        Files.createDirectories(dir);
+
+        // Dateien eines vorherigen Prozesses passen nicht zu den neu gestarteten Versionszählern
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    /**
+     * Liefert den Bericht über den Gesamtbestand aus dem Cache oder rendert ihn
+     */
+    public byte[] getReport(ReportType type, ReportFormat format) throws Exception {
+        return getReport(type, format, ReportFilter.none());
+    }
+
+    /**
+     * Liefert den gefilterten Bericht aus dem Cache oder rendert ihn
+     */
+    public byte[] getReport(ReportType type, ReportFormat format, ReportFilter filter) throws Exception {
+        if (!enabled) {
+            return render(type, format, filter);
+        }
+
+        // Datenstand VOR dem Rendern lesen: eine parallele Änderung landet sonst unter dem alten Schlüssel
+        String key = cacheKey(type, format, filter);
+
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            log.debug("Report cache hit: {}", key);
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        byte[] rendered = render(type, format, filter);
+        store(key, rendered);
+        log.info("Report {} rendered and cached in {} ms ({} bytes)", key, System.currentTimeMillis() - start, rendered.length);
+        return rendered;
+    }
+
+    private byte[] render(ReportType type, ReportFormat format, ReportFilter filter) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        reportService.writeReport(type, format, filter, baos);
+        return baos.toByteArray();
+    }
+
+    private synchronized byte[] lookup(String key) {
+        byte[] bytes = memory.get(key);
+        if (bytes != null) {
+            return bytes;
+        }
+
+        Path file = disk.remove(key);
+        if (file == null) {
+            return null;
+        }
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("Could not read cached report {}", file, e);
+            return null;
+        } finally {
+            deleteQuietly(file);
+        }
+
+        // zurück in den Speicher holen
+        putInMemory(key, bytes);
+        return bytes;
+    }
+
+    private synchronized void store(String key, byte[] bytes) {
+        if (memory.containsKey(key)) {
+            return;
+        }
+        putInMemory(key, bytes);
+    }
+
+    private void putInMemory(String key, byte[] bytes) {
+        memory.put(key, bytes);
+        memoryBytes += bytes.length;
+
+        long maxBytes = maxMemoryMb * 1024 * 1024;
+        Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            it.remove();
+            memoryBytes -= eldest.getValue().length;
+            spillToDisk(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void spillToDisk(String key, byte[] bytes) {
+        if (maxDiskEntries <= 0) {
+            return;
+        }
+
+        Path file = Paths.get(cacheDir, key.replace(':', '_') + ".bin");
+        try {
+            Files.write(file, bytes);
+        } catch (IOException e) {
+            log.warn("Could not spill report {} to disk", key, e);
+            return;
+        }
+        disk.put(key, file);
+
+        Iterator<Map.Entry<String, Path>> it = disk.entrySet().iterator();
+        while (disk.size() > maxDiskEntries && it.hasNext()) {
+            Path evicted = it.next().getValue();
+            it.remove();
+            deleteQuietly(evicted);
+        }
+    }
+
+    private String cacheKey(ReportType type, ReportFormat format, ReportFilter filter) {
+        // Prozesslokaler Datenstand, siehe Klassenkommentar (nur ein Anwendungsknoten)
+        long version;
+        if (type != ReportType.PAYMENTS) {
+            version = dataVersionService.getVersion(DataDomain.CONTRACTS);
+        } else if (filter.hasContractCriteria()) {
+            // Zahlungsbericht mit Vertragsfilter hängt von beiden Datenbeständen ab
+            version = dataVersionService.getGlobalVersion();
+        } else {
+            version = dataVersionService.getVersion(DataDomain.INVOICES);
+        }
+
+        // Filterwerte können beliebige Zeichen enthalten; der Schlüssel wird auch als Dateiname benutzt
+        String filterKey = filter.isEmpty() ? "all"
+                : UUID.nameUUIDFromBytes(filter.toKey().getBytes(StandardCharsets.UTF_8)).toString();
+
+        // Tagesdatum gehört zum Schlüssel: Berichte enthalten "Erstellt am" und Restlaufzeiten
+        return type.name() + ":" + format.name() + ":" + filterKey + ":" + version + ":" + LocalDate.now();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached report {}", file, e);
+        }
+    }
+}
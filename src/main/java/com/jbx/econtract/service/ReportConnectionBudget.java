@@ -0,0 +1,61 @@
+package com.jbx.econtract.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemeinsames Verbindungsbudget für lang laufende Berichte (Report-Jobs, Snapshots, Monatsabschluss)
+ *
+ * Ein Bericht hält seine DB-Verbindung für die gesamte Erzeugung. Zusammen belegen Berichte höchstens
+ * maximum-pool-size - reserved-connections Verbindungen, der Rest bleibt für alle übrigen Anfragen frei.
+ * Gewartet wird, bevor eine Verbindung geöffnet wird.
+ */
+@Component
+@Slf4j
+public class ReportConnectionBudget {
+
+    private final int permits;
+    private final Semaphore semaphore;
+
+    public ReportConnectionBudget(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${app.reports.reserved-connections:2}") int reservedConnections) {
+        this.permits = Math.max(1, poolSize - reservedConnections);
+        this.semaphore = new Semaphore(permits, true);
+        log.info("Reports may hold {} of {} pool connections", permits, poolSize);
+    }
+
+    /**
+     * Anzahl Verbindungen, die Berichte insgesamt belegen dürfen
+     */
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * Wartet auf eine Verbindung für einen Bericht
+     */
+    public void acquire() throws InterruptedException {
+        semaphore.acquire();
+    }
+
+    /**
+     * Wartet höchstens timeout auf count Verbindungen (höchstens getPermits())
+     *
+     * @return false, wenn die Verbindungen in der Zeit nicht frei wurden
+     */
+    public boolean tryAcquire(int count, long timeout, TimeUnit unit) throws InterruptedException {
+        return semaphore.tryAcquire(Math.min(count, permits), timeout, unit);
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public void release(int count) {
+        semaphore.release(Math.min(count, permits));
+    }
+}
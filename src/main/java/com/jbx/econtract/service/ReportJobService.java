@@ -0,0 +1,232 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.dto.ReportFilter;
+import com.jbx.econtract.model.entity.ExportJob;
+import com.jbx.econtract.model.entity.ExportJob.JobStatus;
+import com.jbx.econtract.repository.ExportJobRepository;
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service für asynchrone Report-Jobs
+ *
+ * Berichte werden auf einem begrenzten Thread-Pool erzeugt und als Datei abgelegt.
+ * Gleichzeitige Anfragen für denselben Bericht (Typ, Format und Filter) teilen sich einen Job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final ExportJobRepository exportJobRepository;
+    private final ReportService reportService;
+    private final ReportConnectionBudget connectionBudget;
+
+    @Value("${app.reports.jobs.dir:${file.upload-dir:/var/econtract/uploads}/report-jobs}")
+    private String jobDir;
+
+    @Value("${app.reports.jobs.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * Laufende bzw. wartende Jobs je Bericht (Deduplizierung)
+     */
+    private final Map<String, Long> activeJobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(jobDir));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // Jobs eines vorherigen Prozesses können nicht mehr fertig werden
+        List<ExportJob> orphaned = exportJobRepository.findByStatusIn(List.of(JobStatus.PENDING, JobStatus.RUNNING));
+        for (ExportJob job : orphaned) {
+            job.setStatus(JobStatus.FAILED);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setErrorMessage("Abgebrochen durch Neustart");
+        }
+        exportJobRepository.saveAll(orphaned);
+
+        log.info("Report job executor started (pool: {}, queue: {}, dir: {})", poolSize, queueCapacity, jobDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Legt einen Report-Job an oder liefert den bereits laufenden Job für denselben Bericht
+     *
+     * @throws RejectedExecutionException wenn die Warteschlange voll ist
+     */
+    public synchronized ExportJob submit(ReportType type, ReportFormat format, ReportFilter filter, String createdBy) {
+        String key = jobKey(type, format, filter);
+
+        Long activeId = activeJobs.get(key);
+        if (activeId != null) {
+            Optional<ExportJob> active = exportJobRepository.findById(activeId);
+            if (active.isPresent() && isActive(active.get())) {
+                log.info("Report job {} already running for {}, reusing it", activeId, key);
+                return active.get();
+            }
+            activeJobs.remove(key);
+        }
+
+        ExportJob job = new ExportJob();
+        job.setExportType(type.name());
+        job.setFormat(format.name());
+        job.setCreatedBy(createdBy);
+        job = exportJobRepository.save(job);
+
+        Long jobId = job.getId();
+        activeJobs.put(key, jobId);
+        try {
+            executor.execute(() -> run(jobId, type, format, filter, key));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(key, jobId);
+            job.setStatus(JobStatus.FAILED);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setErrorMessage("Warteschlange voll");
+            exportJobRepository.save(job);
+            throw e;
+        }
+
+        log.info("Report job {} submitted: {}", jobId, key);
+        return job;
+    }
+
+    /**
+     * Findet Job nach ID
+     */
+    public Optional<ExportJob> getJob(Long id) {
+        return exportJobRepository.findById(id);
+    }
+
+    /**
+     * Liefert die Ergebnisdatei eines abgeschlossenen Jobs
+     */
+    public Optional<Path> getResultFile(ExportJob job) {
+        if (job.getStatus() != JobStatus.COMPLETED || job.getFilePath() == null) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(job.getFilePath());
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Löscht abgelaufene Ergebnisdateien (stündlich)
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        List<ExportJob> expired = exportJobRepository.findByStatusInAndCompletedAtBefore(
+                List.of(JobStatus.COMPLETED, JobStatus.FAILED), cutoff);
+
+        for (ExportJob job : expired) {
+            if (job.getFilePath() != null) {
+                try {
+                    Files.deleteIfExists(Paths.get(job.getFilePath()));
+                } catch (IOException e) {
+                    log.warn("Could not delete report file {}", job.getFilePath(), e);
+                    continue;
+                }
+            }
+            exportJobRepository.delete(job);
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Purged {} expired report jobs", expired.size());
+        }
+    }
+
+    private void run(Long jobId, ReportType type, ReportFormat format, ReportFilter filter, String key) {
+        ExportJob job = exportJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Export job not found with ID: " + jobId));
+        job.setStatus(JobStatus.RUNNING);
+        exportJobRepository.save(job);
+
+        Path target = Paths.get(jobDir, jobId + "." + format.getExtension());
+        Path temp = Paths.get(jobDir, jobId + ".part");
+        long start = System.currentTimeMillis();
+
+        try {
+            // Verbindung für die Dauer der Erzeugung aus dem gemeinsamen Budget
+            connectionBudget.acquire();
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                reportService.writeReport(type, format, filter, out);
+            } finally {
+                connectionBudget.release();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setStatus(JobStatus.COMPLETED);
+            job.setFilePath(target.toString());
+            log.info("Report job {} completed in {} ms", jobId, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Report job {} failed", jobId, e);
+            job.setStatus(JobStatus.FAILED);
+            job.setErrorMessage(e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Temp-Datei wird beim nächsten Lauf überschrieben
+            }
+        } finally {
+            job.setCompletedAt(LocalDateTime.now());
+            exportJobRepository.save(job);
+            activeJobs.remove(key, jobId);
+        }
+    }
+
+    private boolean isActive(ExportJob job) {
+        return job.getStatus() == JobStatus.PENDING || job.getStatus() == JobStatus.RUNNING;
+    }
+
+    private String jobKey(ReportType type, ReportFormat format, ReportFilter filter) {
+        return type.name() + ":" + format.name() + ":" + filter.toKey();
+    }
+}
@@ -6,21 +6,36 @@ import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
+import com.jbx.econtract.model.dto.ReportFilter;
 import com.jbx.econtract.model.entity.Contract;
 import com.jbx.econtract.model.entity.Invoice;
+import com.jbx.econtract.model.projection.ContractStatusSummary;
+import com.jbx.econtract.model.projection.InvoiceStatusSummary;
 import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.repository.ContractSpecifications;
 import com.jbx.econtract.repository.InvoiceRepository;
+import com.jbx.econtract.repository.InvoiceSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Service für Report-Generierung (PDF & Excel)
@@ -32,9 +47,101 @@ public class ReportService {
 
     private final ContractRepository contractRepository;
     private final InvoiceRepository invoiceRepository;
+    private final EntityManager entityManager;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
+    /**
+     * Anzahl Zeilen, die SXSSF im Speicher hält; ältere Zeilen werden in eine Temp-Datei ausgelagert
+     */
+    private static final int EXCEL_ROW_WINDOW = 100;
+
+    /**
+     * Nach so vielen Zeilen werden PDF-Tabellen (Large-Table-Modus) in das Dokument geschrieben
+     */
+    private static final int PDF_FLUSH_ROWS = 200;
+
+    /**
+     * Nach so vielen gelesenen Entities wird der Persistence Context geleert (= Fetch Size der Stream-Queries)
+     */
+    private static final int STREAM_CHUNK_SIZE = ContractRepository.STREAM_FETCH_SIZE;
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    /**
+     * Verfügbare Berichte
+     */
+    public enum ReportType {
+        CONTRACTS("Vertragsbericht"),
+        COMPLIANCE("Compliance-Bericht"),
+        FINANCIAL("Finanzbericht"),
+        PAYMENTS("Zahlungsbericht");
+
+        private final String filePrefix;
+
+        ReportType(String filePrefix) {
+            this.filePrefix = filePrefix;
+        }
+
+        public String getFilePrefix() {
+            return filePrefix;
+        }
+    }
+
+    /**
+     * Ausgabeformate
+     */
+    public enum ReportFormat {
+        PDF("pdf", "application/pdf"),
+        EXCEL("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        ReportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * Schreibt einen beliebigen Bericht über den Gesamtbestand in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writeReport(ReportType type, ReportFormat format, OutputStream out) throws IOException {
+        writeReport(type, format, ReportFilter.none(), out);
+    }
+
+    /**
+     * Schreibt einen beliebigen Bericht in den Stream; der Filter wird in SQL ausgewertet
+     */
+    @Transactional(readOnly = true)
+    public void writeReport(ReportType type, ReportFormat format, ReportFilter filter, OutputStream out) throws IOException {
+        if (format == ReportFormat.EXCEL) {
+            switch (type) {
+                case CONTRACTS -> writeContractReportExcel(out, filter);
+                case COMPLIANCE -> writeComplianceReportExcel(out, filter);
+                case FINANCIAL -> writeFinancialReportExcel(out, filter);
+                case PAYMENTS -> writePaymentReportExcel(out, filter);
+            }
+        } else {
+            switch (type) {
+                case CONTRACTS -> writeContractReportPDF(out, filter);
+                case COMPLIANCE -> writeComplianceReportPDF(out, filter);
+                case FINANCIAL -> writeFinancialReportPDF(out, filter);
+                case PAYMENTS -> writePaymentReportPDF(out, filter);
+            }
+        }
+    }
+
     // ========================================================================
     // VERTRAGSBERICHTE
     // ========================================================================
@@ -42,13 +149,21 @@ public class ReportService {
     /**
      * Generiert Vertragsbericht als PDF
      */
+    @Transactional(readOnly = true)
     public byte[] generateContractReportPDF() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeContractReportPDF(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Vertragsbericht als PDF direkt in den Stream (Large-Table-Modus, konstanter Heap)
+     */
+    @Transactional(readOnly = true)
+    public void writeContractReportPDF(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating contract report PDF");
         
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = openPdf(out);
 
         // Title
         Paragraph title = new Paragraph("Vertragsbericht")
@@ -61,12 +176,13 @@ public class ReportService {
                 .setFontSize(10)
                 .setTextAlignment(TextAlignment.CENTER);
         document.add(date);
+        addFilterDescription(document, filter);
 
         document.add(new Paragraph("\n"));
 
         // Table
         float[] columnWidths = {1, 3, 2, 2, 2, 2};
-        Table table = new Table(columnWidths);
+        Table table = new Table(columnWidths, true);
         
         // Header
         table.addHeaderCell("Nr.");
@@ -75,26 +191,30 @@ public class ReportService {
         table.addHeaderCell("Status");
         table.addHeaderCell("Partner");
         table.addHeaderCell("Wert");
+        document.add(table);
 
         // Data
-        List<Contract> contracts = contractRepository.findAll();
-        for (Contract contract : contracts) {
-            table.addCell(contract.getContractNumber());
-            table.addCell(contract.getTitle());
-            table.addCell(contract.getContractType());
-            table.addCell(contract.getStatus().name());
-            table.addCell(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
-            table.addCell(formatCurrency(contract.getContractValue(), contract.getCurrency()));
+        long totalContracts = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        try (Stream<Contract> contracts = contractRepository.streamMatching(ContractSpecifications.matching(filter), BY_ID)) {
+            for (Contract contract : iterate(contracts)) {
+                table.addCell(contract.getContractNumber());
+                table.addCell(contract.getTitle());
+                table.addCell(contract.getContractType());
+                table.addCell(contract.getStatus().name());
+                table.addCell(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
+                table.addCell(formatCurrency(contract.getContractValue(), contract.getCurrency()));
+
+                totalValue = totalValue.add(contract.getContractValue() != null ? contract.getContractValue() : BigDecimal.ZERO);
+                flushTable(table, ++totalContracts);
+                releaseChunk(totalContracts);
+            }
         }
 
-        document.add(table);
+        table.complete();
 
         // Summary
         document.add(new Paragraph("\n"));
-        long totalContracts = contracts.size();
-        BigDecimal totalValue = contracts.stream()
-                .map(c -> c.getContractValue() != null ? c.getContractValue() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         document.add(new Paragraph("Zusammenfassung:").setBold());
         document.add(new Paragraph("Anzahl Verträge: " + totalContracts));
@@ -103,17 +223,26 @@ public class ReportService {
         document.close();
         
         log.info("Contract report PDF generated successfully");
-        return baos.toByteArray();
     }
 
     /**
      * Generiert Vertragsbericht als Excel
      */
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    @Transactional(readOnly = true)
     public byte[] generateContractReportExcel() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeContractReportExcel(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Vertragsbericht als Excel direkt in den Stream (SXSSF, konstanter Heap)
+     */
+    @Transactional(readOnly = true)
+    public void writeContractReportExcel(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating contract report Excel");
         
-        Workbook workbook = new XSSFWorkbook();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
         Sheet sheet = workbook.createSheet("Verträge");
 
         // Header Style
@@ -132,19 +261,21 @@ public class ReportService {
         }
 
         // Data Rows
-        List<Contract> contracts = contractRepository.findAll();
         int rowNum = 1;
-        for (Contract contract : contracts) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(contract.getContractNumber());
-            row.createCell(1).setCellValue(contract.getTitle());
-            row.createCell(2).setCellValue(contract.getContractType());
-            row.createCell(3).setCellValue(contract.getStatus().name());
-            row.createCell(4).setCellValue(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
-            row.createCell(5).setCellValue(contract.getStartDate() != null ? contract.getStartDate().format(DATE_FORMATTER) : "-");
-            row.createCell(6).setCellValue(contract.getEndDate() != null ? contract.getEndDate().format(DATE_FORMATTER) : "-");
-            row.createCell(7).setCellValue(contract.getContractValue() != null ? contract.getContractValue().doubleValue() : 0);
-            row.createCell(8).setCellValue(contract.getCurrency() != null ? contract.getCurrency() : "EUR");
+        try (Stream<Contract> contracts = contractRepository.streamMatching(ContractSpecifications.matching(filter), BY_ID)) {
+            for (Contract contract : iterate(contracts)) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(contract.getContractNumber());
+                row.createCell(1).setCellValue(contract.getTitle());
+                row.createCell(2).setCellValue(contract.getContractType());
+                row.createCell(3).setCellValue(contract.getStatus().name());
+                row.createCell(4).setCellValue(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
+                row.createCell(5).setCellValue(contract.getStartDate() != null ? contract.getStartDate().format(DATE_FORMATTER) : "-");
+                row.createCell(6).setCellValue(contract.getEndDate() != null ? contract.getEndDate().format(DATE_FORMATTER) : "-");
+                row.createCell(7).setCellValue(contract.getContractValue() != null ? contract.getContractValue().doubleValue() : 0);
+                row.createCell(8).setCellValue(contract.getCurrency() != null ? contract.getCurrency() : "EUR");
+                releaseChunk(rowNum - 1);
+            }
         }
 
         // Set fixed column widths (faster than autoSizeColumn)
@@ -158,12 +289,9 @@ public class ReportService {
         sheet.setColumnWidth(7, 3000);  // Wert
         sheet.setColumnWidth(8, 2000);  // Währung
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+        writeWorkbook(workbook, out);
 
         log.info("Contract report Excel generated successfully");
-        return baos.toByteArray();
     }
 
     // ========================================================================
@@ -173,13 +301,21 @@ public class ReportService {
     /**
      * Generiert Compliance-Bericht als PDF
      */
+    @Transactional(readOnly = true)
     public byte[] generateComplianceReportPDF() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeComplianceReportPDF(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Compliance-Bericht als PDF direkt in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writeComplianceReportPDF(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating compliance report PDF");
         
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = openPdf(out);
 
         // Title
         document.add(new Paragraph("Compliance-Bericht")
@@ -189,51 +325,67 @@ public class ReportService {
         document.add(new Paragraph("Erstellt am: " + LocalDate.now().format(DATE_FORMATTER))
                 .setFontSize(10)
                 .setTextAlignment(TextAlignment.CENTER));
+        addFilterDescription(document, filter);
         document.add(new Paragraph("\n"));
 
         // Expiring Contracts
         LocalDate today = LocalDate.now();
         LocalDate in90Days = today.plusDays(90);
-        List<Contract> expiringContracts = contractRepository.findExpiringContracts(today, in90Days);
 
         document.add(new Paragraph("Ablaufende Verträge (nächste 90 Tage):").setBold());
-        
-        if (expiringContracts.isEmpty()) {
+
+        if (contractRepository.count(expiring(filter, today, in90Days)) == 0) {
             document.add(new Paragraph("Keine ablaufenden Verträge gefunden."));
         } else {
             float[] columnWidths = {2, 3, 2, 2, 2};
-            Table table = new Table(columnWidths);
-            
+            Table table = new Table(columnWidths, true);
+
             table.addHeaderCell("Vertragsnummer");
             table.addHeaderCell("Titel");
             table.addHeaderCell("Partner");
             table.addHeaderCell("Enddatum");
             table.addHeaderCell("Tage bis Ablauf");
+            document.add(table);
 
-            for (Contract contract : expiringContracts) {
-                long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, contract.getEndDate());
-                table.addCell(contract.getContractNumber());
-                table.addCell(contract.getTitle());
-                table.addCell(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
-                table.addCell(contract.getEndDate().format(DATE_FORMATTER));
-                table.addCell(String.valueOf(daysUntilExpiry));
+            long rows = 0;
+            try (Stream<Contract> expiringContracts = contractRepository.streamMatching(
+                    expiring(filter, today, in90Days), Sort.by("endDate", "id"))) {
+                for (Contract contract : iterate(expiringContracts)) {
+                    long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, contract.getEndDate());
+                    table.addCell(contract.getContractNumber());
+                    table.addCell(contract.getTitle());
+                    table.addCell(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
+                    table.addCell(contract.getEndDate().format(DATE_FORMATTER));
+                    table.addCell(String.valueOf(daysUntilExpiry));
+                    flushTable(table, ++rows);
+                    releaseChunk(rows);
+                }
             }
 
-            document.add(table);
+            table.complete();
         }
 
         document.close();
-        return baos.toByteArray();
     }
 
     /**
      * Generiert Compliance-Bericht als Excel
      */
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    @Transactional(readOnly = true)
     public byte[] generateComplianceReportExcel() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeComplianceReportExcel(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Compliance-Bericht als Excel direkt in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writeComplianceReportExcel(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating compliance report Excel");
         
-        Workbook workbook = new XSSFWorkbook();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
         Sheet sheet = workbook.createSheet("Compliance");
 
         // Header
@@ -246,30 +398,33 @@ public class ReportService {
         // Data
         LocalDate today = LocalDate.now();
         LocalDate in90Days = today.plusDays(90);
-        List<Contract> expiringContracts = contractRepository.findExpiringContracts(today, in90Days);
 
         int rowNum = 1;
-        for (Contract contract : expiringContracts) {
-            Row row = sheet.createRow(rowNum++);
-            long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, contract.getEndDate());
-            
-            row.createCell(0).setCellValue(contract.getContractNumber());
-            row.createCell(1).setCellValue(contract.getTitle());
-            row.createCell(2).setCellValue(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
-            row.createCell(3).setCellValue(contract.getEndDate().format(DATE_FORMATTER));
-            row.createCell(4).setCellValue(daysUntilExpiry);
-            row.createCell(5).setCellValue(contract.getNoticePeriodDays() != null ? contract.getNoticePeriodDays() : 0);
-        }
+        try (Stream<Contract> expiringContracts = contractRepository.streamMatching(
+                expiring(filter, today, in90Days), Sort.by("endDate", "id"))) {
+            for (Contract contract : iterate(expiringContracts)) {
+                Row row = sheet.createRow(rowNum++);
+                long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, contract.getEndDate());
 
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+                row.createCell(0).setCellValue(contract.getContractNumber());
+                row.createCell(1).setCellValue(contract.getTitle());
+                row.createCell(2).setCellValue(contract.getPartnerName() != null ? contract.getPartnerName() : "-");
+                row.createCell(3).setCellValue(contract.getEndDate().format(DATE_FORMATTER));
+                row.createCell(4).setCellValue(daysUntilExpiry);
+                row.createCell(5).setCellValue(contract.getNoticePeriodDays() != null ? contract.getNoticePeriodDays() : 0);
+                releaseChunk(rowNum - 1);
+            }
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+        // Fixed column widths (autoSizeColumn only sees the SXSSF row window)
+        sheet.setColumnWidth(0, 4000);  // Vertragsnummer
+        sheet.setColumnWidth(1, 8000);  // Titel
+        sheet.setColumnWidth(2, 6000);  // Partner
+        sheet.setColumnWidth(3, 3000);  // Enddatum
+        sheet.setColumnWidth(4, 4000);  // Tage bis Ablauf
+        sheet.setColumnWidth(5, 5500);  // Kündigungsfrist
 
-        return baos.toByteArray();
+        writeWorkbook(workbook, out);
     }
 
     // ========================================================================
@@ -279,13 +434,21 @@ public class ReportService {
     /**
      * Generiert Finanzbericht als PDF
      */
+    @Transactional(readOnly = true)
     public byte[] generateFinancialReportPDF() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeFinancialReportPDF(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Finanzbericht als PDF direkt in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writeFinancialReportPDF(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating financial report PDF");
         
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = openPdf(out);
 
         document.add(new Paragraph("Finanzbericht")
                 .setFontSize(20)
@@ -294,45 +457,49 @@ public class ReportService {
         document.add(new Paragraph("Erstellt am: " + LocalDate.now().format(DATE_FORMATTER))
                 .setFontSize(10)
                 .setTextAlignment(TextAlignment.CENTER));
+        addFilterDescription(document, filter);
         document.add(new Paragraph("\n"));
 
-        List<Contract> contracts = contractRepository.findAll();
+        Map<Contract.ContractStatus, ContractStatusSummary> summaries = summarizeContractsByStatus(filter);
 
         // Summary by Status
         document.add(new Paragraph("Vertragswerte nach Status:").setBold());
         
+        BigDecimal grandTotal = BigDecimal.ZERO;
         for (Contract.ContractStatus status : Contract.ContractStatus.values()) {
-            BigDecimal total = contracts.stream()
-                    .filter(c -> c.getStatus() == status)
-                    .map(c -> c.getContractValue() != null ? c.getContractValue() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
+            BigDecimal total = totalValue(summaries.get(status));
+            grandTotal = grandTotal.add(total);
             document.add(new Paragraph(status.name() + ": " + formatCurrency(total, "EUR")));
         }
 
         document.add(new Paragraph("\n"));
 
         // Total
-        BigDecimal grandTotal = contracts.stream()
-                .map(c -> c.getContractValue() != null ? c.getContractValue() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
         document.add(new Paragraph("Gesamtwert aller Verträge: " + formatCurrency(grandTotal, "EUR"))
                 .setBold()
                 .setFontSize(14));
 
         document.close();
-        return baos.toByteArray();
     }
 
     /**
      * Generiert Finanzbericht als Excel
      */
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    @Transactional(readOnly = true)
     public byte[] generateFinancialReportExcel() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeFinancialReportExcel(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Finanzbericht als Excel direkt in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writeFinancialReportExcel(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating financial report Excel");
         
-        Workbook workbook = new XSSFWorkbook();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
         Sheet sheet = workbook.createSheet("Finanzen");
 
         Row headerRow = sheet.createRow(0);
@@ -341,15 +508,13 @@ public class ReportService {
             headerRow.createCell(i).setCellValue(headers[i]);
         }
 
-        List<Contract> contracts = contractRepository.findAll();
+        Map<Contract.ContractStatus, ContractStatusSummary> summaries = summarizeContractsByStatus(filter);
         int rowNum = 1;
 
         for (Contract.ContractStatus status : Contract.ContractStatus.values()) {
-            long count = contracts.stream().filter(c -> c.getStatus() == status).count();
-            BigDecimal total = contracts.stream()
-                    .filter(c -> c.getStatus() == status)
-                    .map(c -> c.getContractValue() != null ? c.getContractValue() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            ContractStatusSummary summary = summaries.get(status);
+            long count = summary != null ? summary.getCount() : 0;
+            BigDecimal total = totalValue(summary);
 
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(status.name());
@@ -357,15 +522,11 @@ public class ReportService {
             row.createCell(2).setCellValue(total.doubleValue());
         }
 
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+        sheet.setColumnWidth(0, 4000);  // Status
+        sheet.setColumnWidth(1, 3000);  // Anzahl
+        sheet.setColumnWidth(2, 5000);  // Gesamtwert
 
-        return baos.toByteArray();
+        writeWorkbook(workbook, out);
     }
 
     // ========================================================================
@@ -375,13 +536,21 @@ public class ReportService {
     /**
      * Generiert Zahlungsbericht als PDF
      */
+    @Transactional(readOnly = true)
     public byte[] generatePaymentReportPDF() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePaymentReportPDF(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Zahlungsbericht als PDF direkt in den Stream (Large-Table-Modus)
+     */
+    @Transactional(readOnly = true)
+    public void writePaymentReportPDF(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating payment report PDF");
         
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = openPdf(out);
 
         document.add(new Paragraph("Zahlungsbericht")
                 .setFontSize(20)
@@ -390,53 +559,74 @@ public class ReportService {
         document.add(new Paragraph("Erstellt am: " + LocalDate.now().format(DATE_FORMATTER))
                 .setFontSize(10)
                 .setTextAlignment(TextAlignment.CENTER));
+        addFilterDescription(document, filter);
         document.add(new Paragraph("\n"));
 
-        List<Invoice> invoices = invoiceRepository.findAll();
+        // Totals per status via GROUP BY
+        List<InvoiceStatusSummary> summaries = invoiceRepository.summarizeByStatusMatching(InvoiceSpecifications.matching(filter));
+        long invoiceCount = summaries.stream().mapToLong(InvoiceStatusSummary::getCount).sum();
 
-        if (invoices.isEmpty()) {
+        if (invoiceCount == 0) {
             document.add(new Paragraph("Keine Rechnungen vorhanden."));
         } else {
             float[] columnWidths = {2, 3, 2, 2, 2};
-            Table table = new Table(columnWidths);
-            
+            Table table = new Table(columnWidths, true);
+
             table.addHeaderCell("Rechnungsnr.");
             table.addHeaderCell("Vertrag");
             table.addHeaderCell("Betrag");
             table.addHeaderCell("Fälligkeitsdatum");
             table.addHeaderCell("Status");
+            document.add(table);
 
-            for (Invoice invoice : invoices) {
-                table.addCell(invoice.getInvoiceNumber());
-                table.addCell(invoice.getContractId() != null ? "Contract #" + invoice.getContractId() : "-");
-                table.addCell(formatCurrency(invoice.getTotalGross(), "EUR"));
-                table.addCell(invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "-");
-                table.addCell(invoice.getStatus() != null ? invoice.getStatus().name() : "-");
+            long rows = 0;
+            try (Stream<Invoice> invoices = invoiceRepository.streamMatching(InvoiceSpecifications.matching(filter), BY_ID)) {
+                for (Invoice invoice : iterate(invoices)) {
+                    table.addCell(invoice.getInvoiceNumber());
+                    table.addCell(invoice.getContractId() != null ? "Contract #" + invoice.getContractId() : "-");
+                    table.addCell(formatCurrency(invoice.getTotalGross(), "EUR"));
+                    table.addCell(invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "-");
+                    table.addCell(invoice.getStatus() != null ? invoice.getStatus().name() : "-");
+                    flushTable(table, ++rows);
+                    releaseChunk(rows);
+                }
             }
 
-            document.add(table);
+            table.complete();
 
             // Summary
             document.add(new Paragraph("\n"));
-            BigDecimal totalAmount = invoices.stream()
-                    .map(i -> i.getTotalGross() != null ? i.getTotalGross() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (InvoiceStatusSummary summary : summaries) {
+                BigDecimal total = summary.getTotalGross() != null ? summary.getTotalGross() : BigDecimal.ZERO;
+                totalAmount = totalAmount.add(total);
+                document.add(new Paragraph(summary.getStatus().name() + ": " + summary.getCount()
+                        + " Rechnungen, " + formatCurrency(total, "EUR")));
+            }
             document.add(new Paragraph("Gesamtbetrag: " + formatCurrency(totalAmount, "EUR")).setBold());
         }
 
         document.close();
-        return baos.toByteArray();
     }
 
     /**
      * Generiert Zahlungsbericht als Excel
      */
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    @Transactional(readOnly = true)
     public byte[] generatePaymentReportExcel() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePaymentReportExcel(baos, ReportFilter.none());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Schreibt Zahlungsbericht als Excel direkt in den Stream
+     */
+    @Transactional(readOnly = true)
+    public void writePaymentReportExcel(OutputStream out, ReportFilter filter) throws IOException {
         log.info("Generating payment report Excel");
         
-        Workbook workbook = new XSSFWorkbook();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
         Sheet sheet = workbook.createSheet("Zahlungen");
 
         Row headerRow = sheet.createRow(0);
@@ -445,33 +635,119 @@ public class ReportService {
             headerRow.createCell(i).setCellValue(headers[i]);
         }
 
-        List<Invoice> invoices = invoiceRepository.findAll();
         int rowNum = 1;
-
-        for (Invoice invoice : invoices) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(invoice.getInvoiceNumber());
-            row.createCell(1).setCellValue(invoice.getContractId() != null ? "Contract #" + invoice.getContractId() : "-");
-            row.createCell(2).setCellValue(invoice.getTotalGross() != null ? invoice.getTotalGross().doubleValue() : 0);
-            row.createCell(3).setCellValue(invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "-");
-            row.createCell(4).setCellValue(invoice.getStatus() != null ? invoice.getStatus().name() : "-");
-        }
-
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+        try (Stream<Invoice> invoices = invoiceRepository.streamMatching(InvoiceSpecifications.matching(filter), BY_ID)) {
+            for (Invoice invoice : iterate(invoices)) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(invoice.getInvoiceNumber());
+                row.createCell(1).setCellValue(invoice.getContractId() != null ? "Contract #" + invoice.getContractId() : "-");
+                row.createCell(2).setCellValue(invoice.getTotalGross() != null ? invoice.getTotalGross().doubleValue() : 0);
+                row.createCell(3).setCellValue(invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "-");
+                row.createCell(4).setCellValue(invoice.getStatus() != null ? invoice.getStatus().name() : "-");
+                releaseChunk(rowNum - 1);
+            }
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+        sheet.setColumnWidth(0, 4500);  // Rechnungsnummer
+        sheet.setColumnWidth(1, 4000);  // Vertrag
+        sheet.setColumnWidth(2, 3500);  // Betrag
+        sheet.setColumnWidth(3, 4000);  // Fälligkeitsdatum
+        sheet.setColumnWidth(4, 3000);  // Status
 
-        return baos.toByteArray();
+        writeWorkbook(workbook, out);
     }
 
     // ========================================================================
     // HELPER METHODS
     // ========================================================================
 
+    /**
+     * Anzahl und Vertragswert je Status (ein GROUP BY Roundtrip statt Laden aller Verträge)
+     */
+    private Map<Contract.ContractStatus, ContractStatusSummary> summarizeContractsByStatus(ReportFilter filter) {
+        Map<Contract.ContractStatus, ContractStatusSummary> summaries = new EnumMap<>(Contract.ContractStatus.class);
+        for (ContractStatusSummary summary : contractRepository.summarizeByStatusMatching(ContractSpecifications.matching(filter))) {
+            summaries.put(summary.getStatus(), summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Ablaufende Verträge im Zeitraum, eingeschränkt auf den Berichtsfilter
+     */
+    private Specification<Contract> expiring(ReportFilter filter, LocalDate startDate, LocalDate endDate) {
+        return ContractSpecifications.expiringBetween(startDate, endDate).and(ContractSpecifications.matching(filter));
+    }
+
+    /**
+     * Gibt die aktiven Filter unter dem Titel aus, damit Teilberichte erkennbar sind
+     */
+    private void addFilterDescription(Document document, ReportFilter filter) {
+        if (filter.isEmpty()) {
+            return;
+        }
+        StringBuilder description = new StringBuilder("Filter:");
+        if (filter.getStatus() != null) description.append(" Status=").append(filter.getStatus().name());
+        if (StringUtils.hasText(filter.getContractType())) description.append(" Typ=").append(filter.getContractType());
+        if (StringUtils.hasText(filter.getDepartment())) description.append(" Abteilung=").append(filter.getDepartment());
+        if (filter.getPartnerId() != null) description.append(" Partner-ID=").append(filter.getPartnerId());
+        if (StringUtils.hasText(filter.getPartnerName())) description.append(" Partner=").append(filter.getPartnerName());
+        if (filter.getFrom() != null) description.append(" von ").append(filter.getFrom().format(DATE_FORMATTER));
+        if (filter.getTo() != null) description.append(" bis ").append(filter.getTo().format(DATE_FORMATTER));
+
+        document.add(new Paragraph(description.toString())
+                .setFontSize(10)
+                .setTextAlignment(TextAlignment.CENTER));
+    }
+
+    private BigDecimal totalValue(ContractStatusSummary summary) {
+        return summary != null && summary.getTotalValue() != null ? summary.getTotalValue() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Öffnet ein PDF-Dokument auf dem Stream; der Stream bleibt nach document.close() offen
+     */
+    private Document openPdf(OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        return new Document(new PdfDocument(writer));
+    }
+
+    /**
+     * Schreibt die bisher gesammelten Zeilen einer Large-Table ins Dokument und gibt sie frei
+     */
+    private void flushTable(Table table, long rows) {
+        if (rows % PDF_FLUSH_ROWS == 0) {
+            table.flush();
+        }
+    }
+
+    /**
+     * Leert den Persistence Context nach jedem Chunk, damit gelesene Entities vom GC freigegeben werden
+     */
+    private void releaseChunk(long rowsRead) {
+        if (rowsRead % STREAM_CHUNK_SIZE == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static <T> Iterable<T> iterate(Stream<T> stream) {
+        return stream::iterator;
+    }
+
+    /**
+     * Schreibt SXSSF-Workbook in den Stream und löscht die ausgelagerten Temp-Dateien
+     */
+    private void writeWorkbook(SXSSFWorkbook workbook, OutputStream out) throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
     private String formatCurrency(BigDecimal value, String currency) {
         if (value == null) return "0,00 " + currency;
         return String.format("%,.2f %s", value, currency);
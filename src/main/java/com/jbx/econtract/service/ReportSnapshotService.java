@@ -0,0 +1,232 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.service.ReportService.ReportFormat;
+import com.jbx.econtract.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service für vorgerenderte Berichte
+ *
+ * Erzeugt die Standardberichte nachts und legt sie mit Erstellungszeitpunkt auf der Platte ab,
+ * damit Downloads in der morgendlichen Spitze ohne Datenbankzugriff beantwortet werden.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportSnapshotService {
+
+    private final ReportService reportService;
+    private final ReportConnectionBudget connectionBudget;
+
+    @Value("${app.reports.snapshots.dir:${file.upload-dir:/var/econtract/uploads}/report-snapshots}")
+    private String snapshotDir;
+
+    /**
+     * Verhindert parallele Komplett-Aktualisierungen (Zeitplan und "Jetzt aktualisieren")
+     */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final Map<String, Object> refreshLocks = new ConcurrentHashMap<>();
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Metadaten eines vorgerenderten Berichts
+     */
+    public record Snapshot(ReportType type, ReportFormat format, Path file, LocalDateTime generatedAt, long size) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path dir = Files.createDirectories(Paths.get(snapshotDir));
+        // Reste abgebrochener Aktualisierungen
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(dir, "*.part")) {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Fehlende Snapshots direkt nach dem Start erzeugen
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderMissingSnapshots() {
+        boolean missing = false;
+        for (ReportType type : ReportType.values()) {
+            for (ReportFormat format : ReportFormat.values()) {
+                missing |= !Files.exists(snapshotPath(type, format));
+            }
+        }
+        if (missing) {
+            log.info("Report snapshots missing, rendering in background");
+            refreshAllAsync();
+        }
+    }
+
+    /**
+     * Rendert alle Standardberichte neu (Standard: jede Nacht um 02:30 Uhr)
+     */
+    @Scheduled(cron = "${app.reports.snapshots.cron:0 30 2 * * *}")
+    public void refreshAll() {
+        if (!refreshing.compareAndSet(false, true)) {
+            log.info("Report snapshot refresh already running, skipping");
+            return;
+        }
+        renderAll();
+    }
+
+    /**
+     * Startet die Aktualisierung aller Snapshots im Hintergrund
+     *
+     * @return false, wenn bereits eine Aktualisierung läuft
+     */
+    public boolean refreshAllAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            refreshExecutor.execute(this::renderAll);
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Rendert alle Berichte; der Aufrufer hat refreshing gesetzt
+     */
+    private void renderAll() {
+        try {
+            log.info("Refreshing report snapshots");
+            long start = System.currentTimeMillis();
+            int failed = 0;
+            for (ReportType type : ReportType.values()) {
+                for (ReportFormat format : ReportFormat.values()) {
+                    try {
+                        refresh(type, format);
+                    } catch (Exception e) {
+                        failed++;
+                        log.error("Error rendering report snapshot {} {}", type, format, e);
+                    }
+                }
+            }
+            log.info("Report snapshots refreshed in {} ms ({} failed)", System.currentTimeMillis() - start, failed);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Rendert einen einzelnen Bericht neu und ersetzt den Snapshot atomar
+     */
+    public Snapshot refresh(ReportType type, ReportFormat format) throws IOException {
+        Path target = snapshotPath(type, format);
+
+        // Je Bericht nur eine Aktualisierung zur Zeit, jede mit eigener Temp-Datei
+        synchronized (refreshLocks.computeIfAbsent(type.name() + "_" + format.name(), key -> new Object())) {
+            Path temp = Files.createTempFile(Paths.get(snapshotDir), type.name() + "_" + format.name() + "-", ".part");
+            try {
+                // Verbindung für die Dauer der Erzeugung aus dem gemeinsamen Budget
+                connectionBudget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Files.deleteIfExists(temp);
+                throw new IOException("Report snapshot " + type + " " + format + " interrupted", e);
+            }
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                reportService.writeReport(type, format, out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            } finally {
+                connectionBudget.release();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        log.info("Report snapshot {} {} refreshed", type, format);
+        return toSnapshot(type, format, target);
+    }
+
+    /**
+     * Liefert den vorgerenderten Bericht, falls vorhanden
+     */
+    public Optional<Snapshot> getSnapshot(ReportType type, ReportFormat format) {
+        Path file = snapshotPath(type, format);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(toSnapshot(type, format, file));
+        } catch (IOException e) {
+            log.warn("Could not read report snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Alle vorhandenen Snapshots
+     */
+    public List<Snapshot> getSnapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (ReportType type : ReportType.values()) {
+            for (ReportFormat format : ReportFormat.values()) {
+                getSnapshot(type, format).ifPresent(snapshots::add);
+            }
+        }
+        return snapshots;
+    }
+
+    public boolean isRefreshing() {
+        return refreshing.get();
+    }
+
+    private Snapshot toSnapshot(ReportType type, ReportFormat format, Path file) throws IOException {
+        // Zeitpunkt der Erzeugung = Änderungszeitpunkt der Datei, überdauert Neustarts
+        LocalDateTime generatedAt = LocalDateTime.ofInstant(
+                Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+        return new Snapshot(type, format, file, generatedAt, Files.size(file));
+    }
+
+    private Path snapshotPath(ReportType type, ReportFormat format) {
+        return Paths.get(snapshotDir, type.name() + "_" + format.name() + "." + format.getExtension());
+    }
+}
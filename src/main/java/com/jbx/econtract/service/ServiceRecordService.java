@@ -1,10 +1,13 @@
 package com.jbx.econtract.service;
 
+import com.jbx.econtract.model.dto.CursorPage;
 import com.jbx.econtract.model.entity.ServiceRecord;
 import com.jbx.econtract.model.entity.ServiceRecord.ServiceRecordStatus;
 import com.jbx.econtract.repository.ServiceRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +15,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service for managing service records.
@@ -26,6 +31,12 @@ import java.util.Optional;
 public class ServiceRecordService {
 
     private final ServiceRecordRepository serviceRecordRepository;
+    private final KeysetPaginationService keysetPaginationService;
+
+    /**
+     * Sort keys allowed for keyset pagination (NOT NULL columns).
+     */
+    public static final Set<String> SCROLL_SORT_KEYS = Set.of("serviceDate", "createdAt");
 
     /**
      * Create a new service record.
@@ -132,6 +143,31 @@ public class ServiceRecordService {
         return serviceRecordRepository.findAll();
     }
 
+    /**
+     * Get service records page by page using keyset pagination (no COUNT, constant cost per page).
+     *
+     * @param cursor     cursor from the previous page, or null for the first page
+     * @param size       page size
+     * @param sortBy     sort attribute (ignored when a cursor is given)
+     * @param direction  sort direction (ignored when a cursor is given)
+     * @param status     optional status filter
+     * @param contractId optional contract filter
+     * @return page of service records with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceRecord> scrollServiceRecords(String cursor, int size, String sortBy, Sort.Direction direction,
+                                                          ServiceRecordStatus status, Long contractId) {
+        Specification<ServiceRecord> spec = Specification.where(null);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (contractId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("contractId"), contractId));
+        }
+        return keysetPaginationService.scroll(serviceRecordRepository, ServiceRecord.class, spec, cursor, size,
+                sortBy, direction, SCROLL_SORT_KEYS, Function.identity());
+    }
+
     /**
      * Get service records by contract ID.
      *
@@ -0,0 +1,7 @@
+-- V20: Indexes for filtered reports
+--
+-- Report endpoints filter by department and by partner (invoices);
+-- V16 covers status, type, partner and date ranges on contracts, but not these.
+
+CREATE INDEX IF NOT EXISTS idx_contracts_department ON contracts(department);
+CREATE INDEX IF NOT EXISTS idx_invoices_partner_id ON invoices(partner_id);
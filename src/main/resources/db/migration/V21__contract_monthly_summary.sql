@@ -0,0 +1,29 @@
+-- V21: Materialized contract aggregates for the dashboard
+--
+-- One row per (month, status, contract type, partner) with count and summed contract value.
+-- Maintained incrementally by the application on every contract write
+-- (ContractSummaryService) and rebuilt nightly.
+
+CREATE TABLE IF NOT EXISTS contract_monthly_summary (
+    month DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    contract_type VARCHAR(100) NOT NULL,
+    partner_name VARCHAR(255) NOT NULL,
+    contract_count BIGINT NOT NULL DEFAULT 0,
+    total_value DECIMAL(17,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (month, status, contract_type, partner_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_contract_monthly_summary_partner ON contract_monthly_summary(partner_name);
+
+-- Initial fill from existing contracts
+INSERT INTO contract_monthly_summary (month, status, contract_type, partner_name, contract_count, total_value)
+SELECT CAST(DATE_TRUNC('month', COALESCE(created_at, CURRENT_TIMESTAMP)) AS DATE),
+       CAST(status AS VARCHAR),
+       contract_type,
+       partner_name,
+       COUNT(*),
+       COALESCE(SUM(contract_value), 0)
+FROM contracts
+GROUP BY 1, 2, 3, 4
+ON CONFLICT (month, status, contract_type, partner_name) DO NOTHING;
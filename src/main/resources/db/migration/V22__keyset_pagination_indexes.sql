@@ -0,0 +1,9 @@
+-- V22: Indexes for keyset pagination
+--
+-- The /scroll endpoints seek on (sort key, id) instead of OFFSET. Spring Data appends the id
+-- in ascending order, so the indexes match the default sort (sort key DESC, id ASC).
+
+CREATE INDEX IF NOT EXISTS idx_contracts_created_at_id ON contracts(created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_invoices_invoice_date_id ON invoices(invoice_date DESC, id);
+CREATE INDEX IF NOT EXISTS idx_service_records_service_date_id ON service_records(service_date DESC, id);
+CREATE INDEX IF NOT EXISTS idx_import_queue_created_at_id ON contract_import_queue(created_at DESC, id);
@@ -0,0 +1,13 @@
+-- V23: Composite indexes for combined contract list filters
+--
+-- GET /api/v1/contracts combines status with type, department, owner, partner, date and value ranges.
+-- Status is the most common leading filter; created_at DESC, id keeps the default sort index-ordered.
+
+CREATE INDEX IF NOT EXISTS idx_contracts_status_created_at ON contracts(status, created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_contracts_status_type ON contracts(status, contract_type);
+CREATE INDEX IF NOT EXISTS idx_contracts_status_department ON contracts(status, department);
+CREATE INDEX IF NOT EXISTS idx_contracts_status_start_date ON contracts(status, start_date);
+CREATE INDEX IF NOT EXISTS idx_contracts_status_value ON contracts(status, contract_value);
+CREATE INDEX IF NOT EXISTS idx_contracts_owner_status ON contracts(owner_user_id, status);
+CREATE INDEX IF NOT EXISTS idx_contracts_partner_status ON contracts(partner_id, status);
+CREATE INDEX IF NOT EXISTS idx_contracts_type_department ON contracts(contract_type, department);
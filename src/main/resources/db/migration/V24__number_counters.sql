@@ -0,0 +1,37 @@
+-- V24: Counter rows for business numbers (contract, framework contract and invoice numbers)
+--
+-- One row per series and year. Application nodes reserve blocks of numbers with a single
+-- atomic upsert and hand them out from memory (hi/lo). Numbers stay unique across nodes;
+-- unused numbers of a block are skipped after a restart.
+
+CREATE TABLE IF NOT EXISTS number_counters (
+    counter_name VARCHAR(50) NOT NULL,
+    counter_year INTEGER NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (counter_name, counter_year)
+);
+
+-- Continue after the highest number already issued per year
+INSERT INTO number_counters (counter_name, counter_year, next_value)
+SELECT 'CONTRACT', CAST(SPLIT_PART(contract_number, '-', 2) AS INTEGER),
+       MAX(CAST(SPLIT_PART(contract_number, '-', 3) AS BIGINT)) + 1
+FROM contracts
+WHERE contract_number ~ '^(CON|VTR)-[0-9]{4}-[0-9]+$'
+GROUP BY 2
+ON CONFLICT (counter_name, counter_year) DO NOTHING;
+
+INSERT INTO number_counters (counter_name, counter_year, next_value)
+SELECT 'FRAMEWORK_CONTRACT', CAST(SPLIT_PART(framework_number, '-', 2) AS INTEGER),
+       MAX(CAST(SPLIT_PART(framework_number, '-', 3) AS BIGINT)) + 1
+FROM framework_contracts
+WHERE framework_number ~ '^FW-[0-9]{4}-[0-9]+$'
+GROUP BY 2
+ON CONFLICT (counter_name, counter_year) DO NOTHING;
+
+INSERT INTO number_counters (counter_name, counter_year, next_value)
+SELECT 'INVOICE', CAST(SPLIT_PART(invoice_number, '-', 2) AS INTEGER),
+       MAX(CAST(SPLIT_PART(invoice_number, '-', 3) AS BIGINT)) + 1
+FROM invoices
+WHERE invoice_number ~ '^INV-[0-9]{4}-[0-9]+$'
+GROUP BY 2
+ON CONFLICT (counter_name, counter_year) DO NOTHING;
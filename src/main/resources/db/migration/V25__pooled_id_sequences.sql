@@ -0,0 +1,43 @@
+-- V25: Pooled id sequences instead of IDENTITY / BIGSERIAL
+--
+-- Hibernate cannot batch inserts into IDENTITY columns, because it needs each generated id
+-- right after its INSERT. Every table gets its own sequence <table>_seq with INCREMENT BY 50,
+-- matching allocationSize = 50 of the pooled optimizer: one nextval reserves 50 ids.
+--
+-- The column default stays on the sequence, so plain SQL inserts keep working. Such an insert
+-- consumes a whole block and uses its upper value, which never overlaps a block used by Hibernate.
+
+DO $$
+DECLARE
+    t TEXT;
+    old_sequence TEXT;
+    next_id BIGINT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'contracts', 'contract_import_queue', 'contract_participants', 'contract_prices',
+        'contract_uploads', 'export_jobs', 'framework_contracts', 'import_batches',
+        'invoices', 'invoice_items', 'partners', 'price_tiers', 'quick_filters',
+        'revenue_items', 'service_categories', 'service_records', 'users'
+    ] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = t
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', t);
+        ELSE
+            old_sequence := pg_get_serial_sequence(t, 'id');
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+            IF old_sequence IS NOT NULL THEN
+                EXECUTE format('DROP SEQUENCE %s', old_sequence);
+            END IF;
+        END IF;
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50 MINVALUE 1', t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', t || '_seq', t);
+
+        -- Pooled: the sequence value is the upper end of a block, so the first block starts after MAX(id)
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) + 50 FROM %I', t) INTO next_id;
+        PERFORM setval(t || '_seq', next_id, false);
+
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_seq');
+    END LOOP;
+END $$;
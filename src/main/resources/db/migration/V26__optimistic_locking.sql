@@ -0,0 +1,7 @@
+-- V26: Version columns for optimistic locking on contracts and invoices
+--
+-- Hibernate increments the version on every update and rejects updates based on a stale version.
+-- The single-contract and single-invoice endpoints expose it as ETag (If-None-Match / If-Match).
+
+ALTER TABLE contracts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
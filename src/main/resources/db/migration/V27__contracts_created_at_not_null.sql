@@ -0,0 +1,24 @@
+-- V27: contracts.created_at is always set
+--
+-- The live maintenance of contract_monthly_summary buckets contracts by the month of created_at,
+-- the nightly rebuild used COALESCE(created_at, CURRENT_TIMESTAMP). Rows without created_at landed
+-- in a different month on every rebuild, so both paths could disagree. The entity already maps the
+-- column as NOT NULL; old rows are backfilled once and the constraint is enforced from now on.
+
+UPDATE contracts SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+ALTER TABLE contracts ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE contracts ALTER COLUMN created_at SET NOT NULL;
+
+-- Re-bucket the rows that were filled with the rebuild time
+DELETE FROM contract_monthly_summary;
+
+INSERT INTO contract_monthly_summary (month, status, contract_type, partner_name, contract_count, total_value)
+SELECT CAST(DATE_TRUNC('month', created_at) AS DATE),
+       CAST(status AS VARCHAR),
+       contract_type,
+       partner_name,
+       COUNT(*),
+       COALESCE(SUM(contract_value), 0)
+FROM contracts
+GROUP BY 1, 2, 3, 4;
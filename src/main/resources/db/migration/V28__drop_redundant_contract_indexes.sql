@@ -0,0 +1,10 @@
+-- V28: Drop single-column contract indexes covered by composite indexes
+--
+-- Each of these columns is the leading column of a composite index, which serves the same lookups
+-- and range scans. The duplicates only cost write time and cache space on every contract write.
+
+DROP INDEX IF EXISTS idx_contracts_status;      -- idx_contracts_status_created_at (V23)
+DROP INDEX IF EXISTS idx_contracts_owner;       -- idx_contracts_owner_status (V23)
+DROP INDEX IF EXISTS idx_contracts_partner_id;  -- idx_contracts_partner_status (V23)
+DROP INDEX IF EXISTS idx_contracts_contract_type; -- idx_contracts_type_department (V23)
+DROP INDEX IF EXISTS idx_contracts_created_at;  -- idx_contracts_created_at_id (V22)
@@ -0,0 +1,19 @@
+-- V29: Business numbers from per-series sequences instead of the number_counters table
+--
+-- Reserving a block via UPDATE on number_counters needed its own transaction, i.e. a second pooled
+-- connection while the caller still held its own. nextval() is not transactional and runs on the
+-- caller's connection. One sequence per series and year (number_seq_<series>_<year>),
+-- INCREMENT BY = block size: one nextval reserves a block.
+
+DO $$
+DECLARE
+    counter RECORD;
+BEGIN
+    FOR counter IN SELECT counter_name, counter_year, next_value FROM number_counters LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH %s INCREMENT BY 20',
+                       'number_seq_' || LOWER(counter.counter_name) || '_' || counter.counter_year,
+                       GREATEST(counter.next_value, 1));
+    END LOOP;
+END $$;
+
+DROP TABLE IF EXISTS number_counters;
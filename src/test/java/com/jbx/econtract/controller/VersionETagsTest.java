@@ -0,0 +1,64 @@
+package com.jbx.econtract.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionETagsTest {
+
+    @Test
+    void formatsVersionAndDay() {
+        assertEquals("\"3\"", VersionETags.of(3L));
+        assertEquals("\"0\"", VersionETags.of(null));
+        assertEquals("\"3-2026-10-17\"", VersionETags.of(3L, LocalDate.of(2026, 10, 17)));
+    }
+
+    @Test
+    void expectedVersionReadsStrongTags() {
+        assertNull(VersionETags.expectedVersion(null));
+        assertNull(VersionETags.expectedVersion(" "));
+        assertEquals(5L, VersionETags.expectedVersion("\"5\""));
+        // Nur die Version zählt, nicht der Kalendertag
+        assertEquals(5L, VersionETags.expectedVersion("\"5-2026-10-16\""));
+        assertEquals(7L, VersionETags.expectedVersion("\"abc\", \"7\""));
+    }
+
+    @Test
+    void expectedVersionTreatsStarAsNoCondition() {
+        assertNull(VersionETags.expectedVersion("*"));
+        assertNull(VersionETags.expectedVersion("W/\"5\", *"));
+    }
+
+    @Test
+    void expectedVersionNeverMatchesWeakOrInvalidTags() {
+        assertEquals(VersionETags.NO_MATCH, VersionETags.expectedVersion("W/\"5\""));
+        assertEquals(VersionETags.NO_MATCH, VersionETags.expectedVersion("\"abc\""));
+        assertEquals(VersionETags.NO_MATCH, VersionETags.expectedVersion("5"));
+        assertEquals(7L, VersionETags.expectedVersion("W/\"5\", \"7\""));
+    }
+
+    @Test
+    void matchesNoneMatchComparesWeakly() {
+        String etag = VersionETags.of(5L);
+        assertFalse(VersionETags.matchesNoneMatch(null, etag));
+        assertTrue(VersionETags.matchesNoneMatch("\"5\"", etag));
+        assertTrue(VersionETags.matchesNoneMatch("W/\"5\"", etag));
+        assertTrue(VersionETags.matchesNoneMatch("\"4\", W/\"5\"", etag));
+        assertTrue(VersionETags.matchesNoneMatch("*", etag));
+        assertFalse(VersionETags.matchesNoneMatch("\"4\"", etag));
+    }
+
+    @Test
+    void matchesNoneMatchIncludesTheDay() {
+        String etag = VersionETags.of(5L, LocalDate.of(2026, 10, 17));
+        assertTrue(VersionETags.matchesNoneMatch("\"5-2026-10-17\"", etag));
+        // Am Folgetag ändern sich die Tage bis Ablauf, der Client muss neu laden
+        assertFalse(VersionETags.matchesNoneMatch("\"5-2026-10-16\"", etag));
+        assertFalse(VersionETags.matchesNoneMatch("\"5\"", etag));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jbx.econtract.repository;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener;
+import com.jbx.econtract.model.listener.ContractSearchIndexListener;
+import com.jbx.econtract.model.listener.DataVersionListener;
+import com.jbx.econtract.service.ContractCubeService;
+import com.jbx.econtract.service.ContractSearchService;
+import com.jbx.econtract.service.ContractSummaryService;
+import com.jbx.econtract.service.DashboardCounterService;
+import com.jbx.econtract.service.DataVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, dass Inserts mit den gepoolten Sequenz-IDs (V25) als JDBC-Batches geschrieben werden
+ *
+ * Läuft gegen H2 mit dem Schema aus den Entities; die Flyway-Migrationen sind PostgreSQL-spezifisch.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({DataVersionListener.class, ContractCounterListener.class, ContractSearchIndexListener.class})
+class ContractRepositoryBatchTest {
+
+    private static final int BATCH_SIZE = 20;
+
+    @MockBean
+    private DataVersionService dataVersionService;
+
+    @MockBean
+    private DashboardCounterService dashboardCounterService;
+
+    @MockBean
+    private ContractSummaryService contractSummaryService;
+
+    @MockBean
+    private ContractCubeService contractCubeService;
+
+    @MockBean
+    private ContractSearchService contractSearchService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAllWritesInsertsInBatches() {
+        // Mehr als zwei Batches, aber weniger als ein Sequenzblock (allocationSize = 50)
+        int count = 2 * BATCH_SIZE + 5;
+        List<Contract> contracts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            contracts.add(contract(i));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        contractRepository.saveAll(contracts);
+        entityManager.flush();
+
+        int batches = (count + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertEquals(count, statistics.getEntityInsertCount());
+        // Je Batch ein INSERT-Statement, dazu ein bis zwei nextval des gepoolten Optimizers
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements >= batches && statements <= batches + 2,
+                "expected " + batches + " insert batches plus sequence calls, got " + statements + " statements");
+    }
+
+    private static Contract contract(int i) {
+        Contract contract = new Contract();
+        contract.setContractNumber(String.format("CON-2026-%06d", i));
+        contract.setTitle("Wartungsvertrag " + i);
+        contract.setContractType("SERVICE");
+        contract.setPartnerName("Partner " + i);
+        contract.setOwnerUserId(1L);
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+}
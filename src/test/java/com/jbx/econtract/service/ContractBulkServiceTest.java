@@ -0,0 +1,137 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbx.econtract.model.dto.BulkItemResult;
+import com.jbx.econtract.model.dto.BulkResult;
+import com.jbx.econtract.model.dto.ContractDTO;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener;
+import com.jbx.econtract.model.listener.ContractSearchIndexListener;
+import com.jbx.econtract.model.listener.DataVersionListener;
+import com.jbx.econtract.repository.ContractRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, dass ein fehlerhafter Eintrag nur sich selbst scheitern lässt und der Rest seines Blocks geschrieben wird
+ *
+ * Läuft gegen H2 mit dem Schema aus den Entities. Ohne Testtransaktion, damit jeder Block wie im
+ * Betrieb in einer eigenen Transaktion committet bzw. zurückgerollt wird.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({DataVersionListener.class, ContractCounterListener.class, ContractSearchIndexListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContractBulkServiceTest {
+
+    @MockBean
+    private DataVersionService dataVersionService;
+
+    @MockBean
+    private DashboardCounterService dashboardCounterService;
+
+    @MockBean
+    private ContractSummaryService contractSummaryService;
+
+    @MockBean
+    private ContractCubeService contractCubeService;
+
+    @MockBean
+    private ContractSearchService contractSearchService;
+
+    @MockBean
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ContractBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContractBulkService(contractRepository, contractService, new ObjectMapper(),
+                entityManager, transactionManager);
+        ReflectionTestUtils.setField(service, "chunkSize", 10);
+        ReflectionTestUtils.setField(service, "jdbcBatchSize", 10);
+        ReflectionTestUtils.setField(service, "maxItems", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contractRepository.deleteAll();
+    }
+
+    @Test
+    void failingItemFailsAloneWhileRestOfChunkIsCommitted() {
+        List<Contract> saved = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            saved.add(contractRepository.save(contract(i)));
+        }
+        List<ContractDTO> items = new ArrayList<>();
+        for (Contract contract : saved) {
+            ContractDTO dto = ContractDTO.fromEntity(contract);
+            dto.setTitle(contract.getTitle() + " (ERP)");
+            items.add(dto);
+        }
+        // Zu lang für currency VARCHAR(3): besteht die Prüfung, scheitert aber erst beim Flush des Blocks
+        items.get(1).setCurrency("EURO");
+
+        BulkResult result = service.updateAll(items);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        BulkItemResult failed = result.getResults().get(1);
+        assertFalse(failed.isSuccess());
+        assertEquals(1, failed.getIndex());
+        assertEquals(saved.get(1).getId(), failed.getId());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertTrue(result.getResults().get(2).isSuccess());
+
+        assertEquals("Wartungsvertrag 1 (ERP)", title(saved.get(0)));
+        assertEquals("Wartungsvertrag 2", title(saved.get(1)));
+        assertEquals("Wartungsvertrag 3 (ERP)", title(saved.get(2)));
+    }
+
+    private String title(Contract contract) {
+        return contractRepository.findById(contract.getId()).orElseThrow().getTitle();
+    }
+
+    private static Contract contract(int i) {
+        Contract contract = new Contract();
+        contract.setContractNumber(String.format("CON-2026-%06d", i));
+        contract.setTitle("Wartungsvertrag " + i);
+        contract.setContractType("SERVICE");
+        contract.setPartnerName("Partner " + i);
+        contract.setOwnerUserId(1L);
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+}
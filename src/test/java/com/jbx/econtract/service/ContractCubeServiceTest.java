@@ -0,0 +1,112 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract.ContractStatus;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.service.ContractCubeService.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class ContractCubeServiceTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private ContractCubeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContractCubeService(contractRepository, dataVersionService);
+    }
+
+    @Test
+    void sliceAfterGrowingTypesAndDepartments() {
+        // Mehr Typen und Abteilungen als die Anfangskapazität von 8: die Arrays werden mehrfach vergrößert
+        for (int i = 0; i < 20; i++) {
+            add(ContractStatus.ACTIVE, "TYPE-" + i, "DEP-" + (i % 10), "2026-10", 100 * (i + 1));
+        }
+
+        Map<String, Object> byType = service.slice(List.of(Dimension.TYPE), null, null, null, null, null);
+        List<Map<String, Object>> rows = rows(byType);
+        assertEquals(20, rows.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("TYPE-" + i, rows.get(i).get("contractType"));
+            assertEquals(1L, rows.get(i).get("count"));
+            assertEquals(BigDecimal.valueOf(100L * (i + 1), 2), rows.get(i).get("value"));
+        }
+        assertEquals(20L, byType.get("total_count"));
+        assertEquals(new BigDecimal("210.00"), byType.get("total_value"));
+
+        Map<String, Object> department = service.slice(List.of(Dimension.DEPARTMENT), null, null, List.of("DEP-3"), null, null);
+        assertEquals(List.of(Map.of("department", "DEP-3", "count", 2L, "value", new BigDecimal("18.00"))), rows(department));
+    }
+
+    @Test
+    void sliceAfterGrowingMonthsInBothDirections() {
+        add(ContractStatus.ACTIVE, "SERVICE", "IT", "2025-06", 1000);
+        // Vor dem ersten Monat: Werte werden in den neuen Arrays nach hinten verschoben
+        add(ContractStatus.DRAFT, "SERVICE", "IT", "2023-01", 2000);
+        // Weit hinter der Kapazität
+        add(ContractStatus.ACTIVE, "LEASE", null, "2028-12", 3000);
+        add(ContractStatus.ACTIVE, "SERVICE", "IT", "2025-06", 500);
+
+        Map<String, Object> byMonth = service.slice(List.of(Dimension.MONTH), null, null, null, null, null);
+        assertEquals(List.of(
+                Map.of("month", "2023-01", "count", 1L, "value", new BigDecimal("20.00")),
+                Map.of("month", "2025-06", "count", 2L, "value", new BigDecimal("15.00")),
+                Map.of("month", "2028-12", "count", 1L, "value", new BigDecimal("30.00"))), rows(byMonth));
+
+        Map<String, Object> filtered = service.slice(List.of(Dimension.STATUS, Dimension.DEPARTMENT),
+                List.of(ContractStatus.ACTIVE), null, null, YearMonth.of(2024, 1), YearMonth.of(2028, 12));
+        assertEquals(List.of(
+                Map.of("status", ContractStatus.ACTIVE, "department", "IT", "count", 2L, "value", new BigDecimal("15.00")),
+                Map.of("status", ContractStatus.ACTIVE, "department", ContractCubeService.NO_VALUE,
+                        "count", 1L, "value", new BigDecimal("30.00"))), rows(filtered));
+    }
+
+    @Test
+    void removedContractsDropOutOfSlice() {
+        CountedState draft = state(ContractStatus.DRAFT, "SERVICE", "IT", "2026-10", 1000);
+        service.onChange(null, draft);
+        service.onChange(draft, state(ContractStatus.ACTIVE, "SERVICE", "IT", "2026-10", 1000));
+
+        Map<String, Object> byStatus = service.slice(List.of(Dimension.STATUS), null, null, null, null, null);
+        assertEquals(List.of(Map.of("status", ContractStatus.ACTIVE, "count", 1L, "value", new BigDecimal("10.00"))),
+                rows(byStatus));
+
+        service.onChange(state(ContractStatus.ACTIVE, "SERVICE", "IT", "2026-10", 1000), null);
+
+        Map<String, Object> total = service.slice(List.of(), null, null, null, null, null);
+        assertEquals(List.of(), rows(total));
+        assertEquals(0L, total.get("total_count"));
+    }
+
+    private void add(ContractStatus status, String type, String department, String month, long valueCents) {
+        service.onChange(null, state(status, type, department, month, valueCents));
+    }
+
+    private static CountedState state(ContractStatus status, String type, String department, String month, long valueCents) {
+        LocalDate first = YearMonth.parse(month).atDay(1);
+        return new CountedState(status, type, department, "Partner", first, valueCents);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> rows(Map<String, Object> slice) {
+        return (List<Map<String, Object>>) slice.get("rows");
+    }
+}
@@ -0,0 +1,182 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.entity.ContractUpload;
+import com.jbx.econtract.repository.ContractImportQueueRepository;
+import com.jbx.econtract.repository.ContractRepository;
+import com.jbx.econtract.repository.ContractUploadRepository;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContractSearchServiceTest {
+
+    private static final String CORE = "econtract";
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ContractUploadRepository contractUploadRepository;
+
+    @Mock
+    private ContractImportQueueRepository contractImportQueueRepository;
+
+    @Mock
+    private DocumentParserService documentParserService;
+
+    private InMemorySolrClient solrClient;
+    private ContractSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        solrClient = new InMemorySolrClient();
+        service = new ContractSearchService(solrClient, contractRepository, contractUploadRepository,
+                contractImportQueueRepository, documentParserService);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "core", CORE);
+        ReflectionTestUtils.setField(service, "commitWithinMs", 1000);
+        ReflectionTestUtils.setField(service, "maxDocumentChars", 1000);
+        ReflectionTestUtils.setField(service, "documentCacheChars", 10000L);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 10L);
+        ReflectionTestUtils.setField(service, "maxRetryBackoffMs", 50L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void changedContractIsIndexedAndFound() {
+        Contract contract = contract(1L, "Wartungsvertrag Aufzüge", "Schindler AG");
+        when(contractRepository.findAllById(anyIterable())).thenReturn(List.of(contract));
+
+        service.markChanged(1L);
+        awaitUntil(() -> solrClient.contains("1"));
+
+        assertEquals("CON-2026-000001", solrClient.get("1").getFieldValue("contract_number_s"));
+        Page<Long> result = service.searchIds("wartungsvertrag schindler", PageRequest.of(0, 10));
+        assertEquals(List.of(1L), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void deletedContractIsRemovedFromIndex() throws Exception {
+        solrClient.add(CORE, document("2", "Altvertrag"));
+        when(contractRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        service.markChanged(2L);
+        awaitUntil(() -> !solrClient.contains("2"));
+    }
+
+    @Test
+    void failedUpdateIsRetried() {
+        Contract contract = contract(3L, "Reinigung", "Clean GmbH");
+        when(contractRepository.findAllById(anyIterable())).thenReturn(List.of(contract));
+        solrClient.failNext(2);
+
+        service.markChanged(3L);
+        awaitUntil(() -> solrClient.contains("3"));
+
+        assertEquals(3, solrClient.getRequestCount());
+    }
+
+    @Test
+    void documentTextIsExtractedOnlyOncePerFile(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("vertrag.txt"), "Haftung");
+        ContractUpload upload = new ContractUpload();
+        upload.setFilePath(file.toString());
+        upload.setMimeType("text/plain");
+        Contract contract = contract(4L, "Softwarepflege", "Code AG");
+        when(contractRepository.findAllById(anyIterable())).thenReturn(List.of(contract));
+        when(contractUploadRepository.findByContractId(4L)).thenReturn(List.of(upload));
+        when(documentParserService.extractText(file.toString(), "text/plain")).thenReturn("Haftungsbeschränkung");
+
+        service.markChanged(4L);
+        awaitUntil(() -> solrClient.contains("4"));
+        contract.setStatus(Contract.ContractStatus.EXPIRED);
+        service.markChanged(4L);
+        awaitUntil(() -> "EXPIRED".equals(solrClient.get("4").getFieldValue("status_s")));
+
+        verify(documentParserService, times(1)).extractText(file.toString(), "text/plain");
+        assertEquals("Haftungsbeschränkung\n", solrClient.get("4").getFieldValue("document_txt_de"));
+    }
+
+    @Test
+    void searchIdsPagesThroughResults() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            solrClient.add(CORE, document(String.valueOf(i), "Rahmenvertrag " + i));
+        }
+
+        Page<Long> page = service.searchIds("rahmenvertrag", PageRequest.of(1, 2));
+
+        assertEquals(List.of(3L), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void searchIdsReportsServerErrorAsUnavailable() {
+        solrClient.failNext(1);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> service.searchIds("vertrag", PageRequest.of(0, 10)));
+        assertTrue(e.getMessage().contains("Solr-Suche fehlgeschlagen"));
+    }
+
+    private static Contract contract(Long id, String title, String partnerName) {
+        Contract contract = new Contract();
+        contract.setId(id);
+        contract.setContractNumber(String.format("CON-2026-%06d", id));
+        contract.setTitle(title);
+        contract.setPartnerName(partnerName);
+        contract.setContractType("SERVICE");
+        contract.setStatus(Contract.ContractStatus.ACTIVE);
+        return contract;
+    }
+
+    private static SolrInputDocument document(String id, String title) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", id);
+        document.addField("title_txt_de", title);
+        return document;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 5 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
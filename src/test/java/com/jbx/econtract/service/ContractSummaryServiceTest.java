@@ -0,0 +1,120 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract.ContractStatus;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContractSummaryServiceTest {
+
+    private static final LocalDate SEPTEMBER = LocalDate.of(2026, 9, 1);
+    private static final LocalDate OCTOBER = LocalDate.of(2026, 10, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> rows;
+
+    private ContractSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContractSummaryService(jdbcTemplate, transactionManager, dataVersionService);
+    }
+
+    @Test
+    void flushWritesMergedDeltasInKeyOrderOnce() {
+        CountedState draft = state(OCTOBER, ContractStatus.DRAFT, "Beta GmbH", 1000);
+        service.onChange(null, draft);
+        service.onChange(null, state(OCTOBER, ContractStatus.DRAFT, "Beta GmbH", 500));
+        service.onChange(null, state(SEPTEMBER, ContractStatus.ACTIVE, "Alpha AG", 200));
+        // Angelegt und wieder gelöscht: hebt sich auf und wird nicht geschrieben
+        CountedState removed = state(OCTOBER, ContractStatus.ACTIVE, "Gamma KG", 300);
+        service.onChange(null, removed);
+        service.onChange(removed, null);
+
+        service.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        List<Object[]> written = rows.getValue();
+        assertEquals(2, written.size());
+        assertArrayEquals(new Object[]{Date.valueOf(SEPTEMBER), "ACTIVE", "SERVICE", "Alpha AG", 1L, new BigDecimal("2.00")},
+                written.get(0));
+        assertArrayEquals(new Object[]{Date.valueOf(OCTOBER), "DRAFT", "SERVICE", "Beta GmbH", 2L, new BigDecimal("15.00")},
+                written.get(1));
+        verify(dataVersionService).markDerivedChanged();
+
+        // Geschriebene Differenzen sind nicht mehr vorgemerkt
+        service.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextRun() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(new int[]{1});
+        CountedState draft = state(OCTOBER, ContractStatus.DRAFT, "Beta GmbH", 1000);
+        service.onChange(null, draft);
+
+        service.flush();
+        verify(dataVersionService, never()).markDerivedChanged();
+
+        // Statuswechsel bis zum nächsten Lauf: Abgang aus DRAFT hebt den fehlgeschlagenen Zugang auf
+        service.onChange(draft, state(OCTOBER, ContractStatus.ACTIVE, "Beta GmbH", 1000));
+        service.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        List<Object[]> written = rows.getAllValues().get(1);
+        assertEquals(1, written.size());
+        assertArrayEquals(new Object[]{Date.valueOf(OCTOBER), "ACTIVE", "SERVICE", "Beta GmbH", 1L, new BigDecimal("10.00")},
+                written.get(0));
+        verify(dataVersionService).markDerivedChanged();
+    }
+
+    @Test
+    void changeWithinSameBucketIsIgnored() {
+        CountedState before = state(OCTOBER, ContractStatus.DRAFT, "Beta GmbH", 1000);
+        CountedState after = new CountedState(ContractStatus.DRAFT, "SERVICE", "Einkauf", "Beta GmbH", OCTOBER, 1000);
+
+        service.onChange(before, after);
+        service.flush();
+
+        verifyNoInteractions(jdbcTemplate, dataVersionService);
+    }
+
+    private static CountedState state(LocalDate month, ContractStatus status, String partnerName, long valueCents) {
+        return new CountedState(status, "SERVICE", "IT", partnerName, month, valueCents);
+    }
+}
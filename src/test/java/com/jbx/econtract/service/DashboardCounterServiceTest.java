@@ -0,0 +1,139 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.model.entity.Contract.ContractStatus;
+import com.jbx.econtract.model.listener.ContractCounterListener.CountedState;
+import com.jbx.econtract.model.projection.ContractBucketSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCounterServiceTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2026, 10, 1);
+
+    @Mock
+    private DashboardEventBroadcaster dashboardEventBroadcaster;
+
+    private DashboardCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardCounterService(dashboardEventBroadcaster);
+    }
+
+    @Test
+    void changesMoveCountsAndValuesBetweenBuckets() {
+        CountedState draft = state(ContractStatus.DRAFT, "SERVICE", "IT", 10000);
+        CountedState active = state(ContractStatus.ACTIVE, "SERVICE", null, 12550);
+
+        service.onChange(null, draft);
+        service.onChange(draft, active);
+
+        assertEquals(1, service.getTotal());
+        assertEquals(0L, service.getByStatus().get(ContractStatus.DRAFT));
+        assertEquals(1L, service.getByStatus().get(ContractStatus.ACTIVE));
+        assertEquals(new BigDecimal("125.50"), service.getValue(ContractStatus.ACTIVE));
+        assertEquals(new BigDecimal("0.00"), service.getValue(ContractStatus.DRAFT));
+        assertEquals(Map.of("SERVICE", 1L), service.getByType());
+        // Abteilungen ohne Verträge fallen aus der Übersicht
+        assertEquals(Map.of(DashboardCounterService.NO_DEPARTMENT, 1L), service.getByDepartment());
+
+        // Dasselbe Delta geht an die verbundenen Dashboards
+        verify(dashboardEventBroadcaster).recordContractDelta(ContractStatus.DRAFT, "SERVICE", "IT", 1);
+        verify(dashboardEventBroadcaster).recordContractDelta(ContractStatus.DRAFT, "SERVICE", "IT", -1);
+        verify(dashboardEventBroadcaster).recordContractDelta(ContractStatus.ACTIVE, "SERVICE", null, 1);
+    }
+
+    @Test
+    void reconcileReplacesCountedStateAndLaterDeltasBuildOnIt() {
+        service.onChange(null, state(ContractStatus.DRAFT, "LEASE", "HR", 500));
+        assertFalse(service.isInitialized());
+
+        service.reconcile(List.of(
+                bucket(ContractStatus.ACTIVE, "SERVICE", "IT", 3, "300.00"),
+                bucket(ContractStatus.DRAFT, "SERVICE", null, 2, null)), 4);
+
+        assertTrue(service.isInitialized());
+        assertEquals(5, service.getTotal());
+        assertEquals(3L, service.getByStatus().get(ContractStatus.ACTIVE));
+        assertEquals(2L, service.getByStatus().get(ContractStatus.DRAFT));
+        assertEquals(new BigDecimal("300.00"), service.getValue(ContractStatus.ACTIVE));
+        assertEquals(Map.of("SERVICE", 5L), service.getByType());
+        assertEquals(Map.of("IT", 3L, DashboardCounterService.NO_DEPARTMENT, 2L), service.getByDepartment());
+        assertEquals(4, service.getExpiringSoon());
+
+        service.onChange(state(ContractStatus.ACTIVE, "SERVICE", "IT", 10000), null);
+
+        assertEquals(4, service.getTotal());
+        assertEquals(2L, service.getByStatus().get(ContractStatus.ACTIVE));
+        assertEquals(new BigDecimal("200.00"), service.getValue(ContractStatus.ACTIVE));
+        assertEquals(Map.of("IT", 2L, DashboardCounterService.NO_DEPARTMENT, 2L), service.getByDepartment());
+    }
+
+    @Test
+    void changesWaitForRunningSnapshot() throws Exception {
+        Thread writer = new Thread(() -> service.onChange(null, state(ContractStatus.ACTIVE, "SERVICE", "IT", 0)));
+
+        long totalInSnapshot = service.snapshot(() -> {
+            writer.start();
+            try {
+                writer.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertTrue(writer.isAlive(), "change must wait for the snapshot");
+            return service.getTotal();
+        });
+        writer.join(5000);
+
+        assertEquals(0, totalInSnapshot);
+        assertEquals(1, service.getTotal());
+    }
+
+    private static CountedState state(ContractStatus status, String type, String department, long valueCents) {
+        return new CountedState(status, type, department, "Partner", MONTH, valueCents);
+    }
+
+    private static ContractBucketSummary bucket(ContractStatus status, String type, String department,
+                                                long count, String totalValue) {
+        return new ContractBucketSummary() {
+            @Override
+            public ContractStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getContractType() {
+                return type;
+            }
+
+            @Override
+            public String getDepartment() {
+                return department;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getTotalValue() {
+                return totalValue != null ? new BigDecimal(totalValue) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.jbx.econtract.service;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solr-Ersatz für Tests: hält die Dokumente eines Cores im Speicher
+ *
+ * Unterstützt Add, Delete-by-ID und Commit sowie Suchen mit "*:*" oder Suchbegriffen, die alle
+ * (wie mm=100%) in irgendeinem Feld vorkommen müssen. Mit failNext() schlagen die nächsten Anfragen
+ * wie bei einem Serverfehler mit RemoteSolrException fehl.
+ */
+class InMemorySolrClient extends SolrClient {
+
+    private final Map<String, SolrInputDocument> documents = new LinkedHashMap<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    void failNext(int count) {
+        failures.set(count);
+    }
+
+    int getRequestCount() {
+        return requests.get();
+    }
+
+    synchronized boolean contains(String id) {
+        return documents.containsKey(id);
+    }
+
+    synchronized SolrInputDocument get(String id) {
+        return documents.get(id);
+    }
+
+    @Override
+    public synchronized NamedList<Object> request(SolrRequest<?> request, String collection) {
+        requests.incrementAndGet();
+        if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new BaseHttpSolrClient.RemoteSolrException("in-memory", 503, "Service Unavailable", null);
+        }
+
+        NamedList<Object> response = new NamedList<>();
+        if (request instanceof UpdateRequest update) {
+            if (update.getDocuments() != null) {
+                for (SolrInputDocument document : update.getDocuments()) {
+                    documents.put(String.valueOf(document.getFieldValue("id")), document);
+                }
+            }
+            if (update.getDeleteById() != null) {
+                update.getDeleteById().forEach(documents::remove);
+            }
+            if (update.getDeleteQuery() != null && !update.getDeleteQuery().isEmpty()) {
+                throw new UnsupportedOperationException("deleteByQuery: " + update.getDeleteQuery());
+            }
+        } else if (request instanceof QueryRequest query) {
+            response.add("response", search(query.getParams()));
+        } else {
+            throw new UnsupportedOperationException(request.getClass().getSimpleName());
+        }
+        return response;
+    }
+
+    private SolrDocumentList search(SolrParams params) {
+        String q = params.get("q", "*:*");
+        List<String> terms = "*:*".equals(q) ? List.of()
+                : Arrays.stream(q.toLowerCase(Locale.ROOT).split("\\s+")).filter(t -> !t.isEmpty()).toList();
+
+        List<SolrInputDocument> matches = new ArrayList<>();
+        for (SolrInputDocument document : documents.values()) {
+            String text = document.getFieldNames().stream()
+                    .map(name -> String.valueOf(document.getFieldValue(name)))
+                    .reduce("", (a, b) -> a + ' ' + b)
+                    .toLowerCase(Locale.ROOT);
+            if (terms.stream().allMatch(text::contains)) {
+                matches.add(document);
+            }
+        }
+
+        int start = params.getInt("start", 0);
+        int rows = params.getInt("rows", 10);
+        SolrDocumentList results = new SolrDocumentList();
+        results.setNumFound(matches.size());
+        results.setStart(start);
+        for (SolrInputDocument document : matches.subList(Math.min(start, matches.size()), Math.min(start + rows, matches.size()))) {
+            SolrDocument result = new SolrDocument();
+            document.getFieldNames().forEach(name -> result.setField(name, document.getFieldValue(name)));
+            results.add(result);
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        // nichts zu schließen
+    }
+}
@@ -0,0 +1,164 @@
+package com.jbx.econtract.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jbx.econtract.model.dto.CursorPage;
+import com.jbx.econtract.model.entity.Contract;
+import com.jbx.econtract.model.listener.ContractCounterListener;
+import com.jbx.econtract.model.listener.ContractSearchIndexListener;
+import com.jbx.econtract.model.listener.DataVersionListener;
+import com.jbx.econtract.repository.ContractRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft Cursor-Rundreise, Sortier-Whitelist und letzte Seite der Keyset-Pagination
+ *
+ * Läuft gegen H2 mit dem Schema aus den Entities; die Flyway-Migrationen sind PostgreSQL-spezifisch.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({DataVersionListener.class, ContractCounterListener.class, ContractSearchIndexListener.class})
+class KeysetPaginationServiceTest {
+
+    private static final Set<String> SORT_KEYS = Set.of("createdAt", "title");
+
+    @MockBean
+    private DataVersionService dataVersionService;
+
+    @MockBean
+    private DashboardCounterService dashboardCounterService;
+
+    @MockBean
+    private ContractSummaryService contractSummaryService;
+
+    @MockBean
+    private ContractCubeService contractCubeService;
+
+    @MockBean
+    private ContractSearchService contractSearchService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private KeysetPaginationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KeysetPaginationService(entityManager, objectMapper);
+        // Gleiche Titel paarweise: die id entscheidet innerhalb gleicher Sortierwerte
+        for (int i = 1; i <= 7; i++) {
+            contractRepository.save(contract(i, "Vertrag " + (char) ('A' + (i - 1) / 2)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void cursorWalksAllRowsOnceInOrder() {
+        List<String> numbers = readAll("title", Sort.Direction.ASC, 3);
+
+        assertEquals(List.of("CON-2026-000001", "CON-2026-000002", "CON-2026-000003", "CON-2026-000004",
+                "CON-2026-000005", "CON-2026-000006", "CON-2026-000007"), numbers);
+    }
+
+    @Test
+    void cursorRestoresTypedKeysAndDirection() {
+        // createdAt geht als JSON durch den Cursor und wird wieder zu LocalDateTime
+        List<String> descending = readAll("createdAt", Sort.Direction.DESC, 2);
+
+        assertEquals(7, descending.size());
+        assertEquals(7, Set.copyOf(descending).size());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<String> first = scroll(null, "title", Sort.Direction.ASC, 4);
+        assertTrue(first.isHasNext());
+
+        CursorPage<String> last = scroll(first.getNextCursor(), "title", Sort.Direction.ASC, 4);
+        assertEquals(3, last.getItems().size());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+
+        CursorPage<String> exact = scroll(null, "title", Sort.Direction.ASC, 7);
+        assertEquals(7, exact.getItems().size());
+        assertFalse(exact.isHasNext());
+    }
+
+    @Test
+    void sortKeyMustBeWhitelisted() {
+        assertThrows(IllegalArgumentException.class, () -> scroll(null, "partnerName", Sort.Direction.ASC, 5));
+
+        // Auch ein selbst gebauter Cursor kann die Whitelist nicht umgehen
+        String forged = encode("{\"sort\":\"partnerName\",\"direction\":\"ASC\",\"keys\":{\"partnerName\":\"x\",\"id\":1}}");
+        assertThrows(IllegalArgumentException.class, () -> scroll(forged, "title", Sort.Direction.ASC, 5));
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> scroll("kein-cursor", "title", Sort.Direction.ASC, 5));
+        // Schlüssel, die nicht zur Sortierung gehören
+        String foreignKey = encode("{\"sort\":\"title\",\"direction\":\"ASC\",\"keys\":{\"title\":\"x\",\"status\":\"DRAFT\"}}");
+        assertThrows(IllegalArgumentException.class, () -> scroll(foreignKey, "title", Sort.Direction.ASC, 5));
+    }
+
+    private List<String> readAll(String sortBy, Sort.Direction direction, int size) {
+        List<String> numbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<String> page = scroll(cursor, sortBy, direction, size);
+            numbers.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return numbers;
+    }
+
+    private CursorPage<String> scroll(String cursor, String sortBy, Sort.Direction direction, int size) {
+        return service.scroll(contractRepository, Contract.class, null, cursor, size, sortBy, direction, SORT_KEYS,
+                Contract::getContractNumber);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Contract contract(int i, String title) {
+        Contract contract = new Contract();
+        contract.setContractNumber(String.format("CON-2026-%06d", i));
+        contract.setTitle(title);
+        contract.setContractType("SERVICE");
+        contract.setPartnerName("Partner " + i);
+        contract.setOwnerUserId(1L);
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jbx.econtract.service;
+
+import com.jbx.econtract.service.NumberAllocatorService.NumberSeries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NumberAllocatorServiceTest {
+
+    private static final String NEXTVAL = "SELECT nextval(?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NumberAllocatorService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NumberAllocatorService(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(service, "blockSize", 20);
+    }
+
+    @Test
+    void numbersOfABlockComeFromMemory() {
+        sequence("number_seq_contract_2026", 3, 1, 4);
+
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            numbers.add(service.next(NumberSeries.CONTRACT, 2026));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), numbers);
+        // Ein nextval je Block, die Blockgrenze liegt nach der dritten Nummer
+        verify(jdbcTemplate, times(2)).queryForObject(NEXTVAL, Long.class, "number_seq_contract_2026");
+    }
+
+    @Test
+    void eachYearHasItsOwnSequence() {
+        sequence("number_seq_invoice_2026", 20, 41);
+        sequence("number_seq_invoice_2027", 20, 1);
+
+        assertEquals(41L, service.next(NumberSeries.INVOICE, 2026));
+        assertEquals(1L, service.next(NumberSeries.INVOICE, 2027));
+        assertEquals(42L, service.next(NumberSeries.INVOICE, 2026));
+        assertEquals("INV-2027-0002", NumberSeries.INVOICE.format(2027, service.next(NumberSeries.INVOICE, 2027)));
+    }
+
+    @Test
+    void missingSequenceIsCreatedWithBlockSize() {
+        String sequence = "number_seq_framework_contract_" + Year.now().getValue();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(sequence)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(20L));
+        when(jdbcTemplate.queryForObject(NEXTVAL, Long.class, sequence)).thenReturn(1L);
+
+        assertEquals("FW-" + Year.now().getValue() + "-000001", service.nextNumber(NumberSeries.FRAMEWORK_CONTRACT));
+
+        verify(jdbcTemplate).execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY 20");
+    }
+
+    @Test
+    void concurrentCallsGetUniqueNumbers() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("number_seq_contract_2026"))).thenReturn(List.of(5L));
+        AtomicLong nextval = new AtomicLong(1);
+        when(jdbcTemplate.queryForObject(NEXTVAL, Long.class, "number_seq_contract_2026"))
+                .thenAnswer(invocation -> nextval.getAndAdd(5));
+
+        int threads = 8;
+        int perThread = 250;
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(numbers.add(service.next(NumberSeries.CONTRACT, 2026)), "duplicate number");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, numbers.size());
+        // Lücken entstehen nur, wenn zwei Threads gleichzeitig nachladen; nie mehr Nummern als reserviert
+        assertTrue(numbers.stream().allMatch(n -> n >= 1 && n < nextval.get()));
+    }
+
+    /**
+     * Sequenz mit Schrittweite increment, nextval liefert nacheinander die angegebenen Startwerte
+     */
+    private void sequence(String name, long increment, long... starts) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(name))).thenReturn(List.of(increment));
+        var stub = when(jdbcTemplate.queryForObject(NEXTVAL, Long.class, name)).thenReturn(starts[0]);
+        for (int i = 1; i < starts.length; i++) {
+            stub = stub.thenReturn(starts[i]);
+        }
+    }
+}